@@ -137,6 +137,11 @@ public class MetricsNamingConverter {
             obj.setHttpResponseTime((String)member.getValue());
           }
           break;
+        case "httpResponseTimeSamplingRatio":
+          if (member.getValue() instanceof String) {
+            obj.setHttpResponseTimeSamplingRatio((String)member.getValue());
+          }
+          break;
         case "httpResponsesCount":
           if (member.getValue() instanceof String) {
             obj.setHttpResponsesCount((String)member.getValue());
@@ -207,6 +212,11 @@ public class MetricsNamingConverter {
             obj.setPoolQueuePending((String)member.getValue());
           }
           break;
+        case "labelValuesCollapsed":
+          if (member.getValue() instanceof String) {
+            obj.setLabelValuesCollapsed((String)member.getValue());
+          }
+          break;
       }
     }
   }
@@ -291,6 +301,9 @@ public class MetricsNamingConverter {
     if (obj.getHttpResponseTime() != null) {
       json.put("httpResponseTime", obj.getHttpResponseTime());
     }
+    if (obj.getHttpResponseTimeSamplingRatio() != null) {
+      json.put("httpResponseTimeSamplingRatio", obj.getHttpResponseTimeSamplingRatio());
+    }
     if (obj.getHttpResponsesCount() != null) {
       json.put("httpResponsesCount", obj.getHttpResponsesCount());
     }
@@ -333,5 +346,8 @@ public class MetricsNamingConverter {
     if (obj.getPoolQueuePending() != null) {
       json.put("poolQueuePending", obj.getPoolQueuePending());
     }
+    if (obj.getLabelValuesCollapsed() != null) {
+      json.put("labelValuesCollapsed", obj.getLabelValuesCollapsed());
+    }
   }
 }
@@ -90,6 +90,81 @@ public class MicrometerMetricsOptionsConverter {
             obj.setMetricsNaming(new io.vertx.micrometer.MetricsNaming((io.vertx.core.json.JsonObject)member.getValue()));
           }
           break;
+        case "meterCacheEnabled":
+          if (member.getValue() instanceof Boolean) {
+            obj.setMeterCacheEnabled((Boolean)member.getValue());
+          }
+          break;
+        case "meterCacheMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setMeterCacheMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "idleSeriesTimeout":
+          if (member.getValue() instanceof Number) {
+            obj.setIdleSeriesTimeout(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "labelCardinalityLimit":
+          if (member.getValue() instanceof Number) {
+            obj.setLabelCardinalityLimit(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "labelCardinalityLimits":
+          if (member.getValue() instanceof JsonObject) {
+            java.util.Map<String, java.lang.Integer> map = new java.util.LinkedHashMap<>();
+            ((Iterable<java.util.Map.Entry<String, Object>>)member.getValue()).forEach(entry -> {
+              if (entry.getValue() instanceof Number)
+                map.put(entry.getKey(), ((Number)entry.getValue()).intValue());
+            });
+            obj.setLabelCardinalityLimits(map);
+          }
+          break;
+        case "httpPathTemplatingEnabled":
+          if (member.getValue() instanceof Boolean) {
+            obj.setHttpPathTemplatingEnabled((Boolean)member.getValue());
+          }
+          break;
+        case "httpPathTemplates":
+          if (member.getValue() instanceof JsonObject) {
+            java.util.Map<String, java.lang.String> map = new java.util.LinkedHashMap<>();
+            ((Iterable<java.util.Map.Entry<String, Object>>)member.getValue()).forEach(entry -> {
+              if (entry.getValue() instanceof String)
+                map.put(entry.getKey(), (String)entry.getValue());
+            });
+            obj.setHttpPathTemplates(map);
+          }
+          break;
+        case "labelMatchesAtSourceEnabled":
+          if (member.getValue() instanceof Boolean) {
+            obj.setLabelMatchesAtSourceEnabled((Boolean)member.getValue());
+          }
+          break;
+        case "disabledMetrics":
+          if (member.getValue() instanceof JsonArray) {
+            java.util.LinkedHashSet<java.lang.String> list =  new java.util.LinkedHashSet<>();
+            ((Iterable<Object>)member.getValue()).forEach( item -> {
+              if (item instanceof String)
+                list.add((String)item);
+            });
+            obj.setDisabledMetrics(list);
+          }
+          break;
+        case "netBytesFlushInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setNetBytesFlushInterval(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "httpCodeClassEnabled":
+          if (member.getValue() instanceof Boolean) {
+            obj.setHttpCodeClassEnabled((Boolean)member.getValue());
+          }
+          break;
+        case "httpResponseTimeSampling":
+          if (member.getValue() instanceof Number) {
+            obj.setHttpResponseTimeSampling(((Number)member.getValue()).intValue());
+          }
+          break;
       }
     }
   }
@@ -127,5 +202,29 @@ public class MicrometerMetricsOptionsConverter {
     if (obj.getMetricsNaming() != null) {
       json.put("metricsNaming", obj.getMetricsNaming().toJson());
     }
+    json.put("meterCacheEnabled", obj.isMeterCacheEnabled());
+    json.put("meterCacheMaxSize", obj.getMeterCacheMaxSize());
+    json.put("idleSeriesTimeout", obj.getIdleSeriesTimeout());
+    json.put("labelCardinalityLimit", obj.getLabelCardinalityLimit());
+    if (obj.getLabelCardinalityLimits() != null) {
+      JsonObject map = new JsonObject();
+      obj.getLabelCardinalityLimits().forEach((key, value) -> map.put(key, value));
+      json.put("labelCardinalityLimits", map);
+    }
+    json.put("httpPathTemplatingEnabled", obj.isHttpPathTemplatingEnabled());
+    if (obj.getHttpPathTemplates() != null) {
+      JsonObject map = new JsonObject();
+      obj.getHttpPathTemplates().forEach((key, value) -> map.put(key, value));
+      json.put("httpPathTemplates", map);
+    }
+    json.put("labelMatchesAtSourceEnabled", obj.isLabelMatchesAtSourceEnabled());
+    if (obj.getDisabledMetrics() != null) {
+      JsonArray array = new JsonArray();
+      obj.getDisabledMetrics().forEach(item -> array.add(item));
+      json.put("disabledMetrics", array);
+    }
+    json.put("netBytesFlushInterval", obj.getNetBytesFlushInterval());
+    json.put("httpCodeClassEnabled", obj.isHttpCodeClassEnabled());
+    json.put("httpResponseTimeSampling", obj.getHttpResponseTimeSampling());
   }
 }
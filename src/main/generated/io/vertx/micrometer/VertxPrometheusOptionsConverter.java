@@ -37,6 +37,61 @@ public class VertxPrometheusOptionsConverter {
             obj.setPublishQuantiles((Boolean)member.getValue());
           }
           break;
+        case "scrapeStreamingEnabled":
+          if (member.getValue() instanceof Boolean) {
+            obj.setScrapeStreamingEnabled((Boolean)member.getValue());
+          }
+          break;
+        case "scrapeWorkerPoolSize":
+          if (member.getValue() instanceof Number) {
+            obj.setScrapeWorkerPoolSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "scrapeCacheTtl":
+          if (member.getValue() instanceof Number) {
+            obj.setScrapeCacheTtl(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "scrapeCompressionEnabled":
+          if (member.getValue() instanceof Boolean) {
+            obj.setScrapeCompressionEnabled((Boolean)member.getValue());
+          }
+          break;
+        case "scrapeCompressionLevel":
+          if (member.getValue() instanceof Number) {
+            obj.setScrapeCompressionLevel(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "scrapeFormatNegotiationEnabled":
+          if (member.getValue() instanceof Boolean) {
+            obj.setScrapeFormatNegotiationEnabled((Boolean)member.getValue());
+          }
+          break;
+        case "scrapeIncludedPrefixes":
+          if (member.getValue() instanceof JsonArray) {
+            java.util.ArrayList<java.lang.String> list =  new java.util.ArrayList<>();
+            ((Iterable<Object>)member.getValue()).forEach( item -> {
+              if (item instanceof String)
+                list.add((String)item);
+            });
+            obj.setScrapeIncludedPrefixes(list);
+          }
+          break;
+        case "scrapeExcludedPrefixes":
+          if (member.getValue() instanceof JsonArray) {
+            java.util.ArrayList<java.lang.String> list =  new java.util.ArrayList<>();
+            ((Iterable<Object>)member.getValue()).forEach( item -> {
+              if (item instanceof String)
+                list.add((String)item);
+            });
+            obj.setScrapeExcludedPrefixes(list);
+          }
+          break;
+        case "embeddedServerOnInstrumentedVertx":
+          if (member.getValue() instanceof Boolean) {
+            obj.setEmbeddedServerOnInstrumentedVertx((Boolean)member.getValue());
+          }
+          break;
       }
     }
   }
@@ -55,5 +110,22 @@ public class VertxPrometheusOptionsConverter {
       json.put("embeddedServerEndpoint", obj.getEmbeddedServerEndpoint());
     }
     json.put("publishQuantiles", obj.isPublishQuantiles());
+    json.put("scrapeStreamingEnabled", obj.isScrapeStreamingEnabled());
+    json.put("scrapeWorkerPoolSize", obj.getScrapeWorkerPoolSize());
+    json.put("scrapeCacheTtl", obj.getScrapeCacheTtl());
+    json.put("scrapeCompressionEnabled", obj.isScrapeCompressionEnabled());
+    json.put("scrapeCompressionLevel", obj.getScrapeCompressionLevel());
+    json.put("scrapeFormatNegotiationEnabled", obj.isScrapeFormatNegotiationEnabled());
+    if (obj.getScrapeIncludedPrefixes() != null) {
+      JsonArray array = new JsonArray();
+      obj.getScrapeIncludedPrefixes().forEach(item -> array.add(item));
+      json.put("scrapeIncludedPrefixes", array);
+    }
+    if (obj.getScrapeExcludedPrefixes() != null) {
+      JsonArray array = new JsonArray();
+      obj.getScrapeExcludedPrefixes().forEach(item -> array.add(item));
+      json.put("scrapeExcludedPrefixes", array);
+    }
+    json.put("embeddedServerOnInstrumentedVertx", obj.isEmbeddedServerOnInstrumentedVertx());
   }
 }
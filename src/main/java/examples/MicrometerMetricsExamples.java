@@ -40,6 +40,7 @@ import io.vertx.micrometer.backends.BackendRegistries;
 import java.io.File;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -118,6 +119,16 @@ public class MicrometerMetricsExamples {
         .setEnabled(true)));
   }
 
+  public void setupPrometheusEmbeddedServerOnInstrumentedVertx() {
+    Vertx vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+      new MicrometerMetricsOptions()
+        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true)
+          .setStartEmbeddedServer(true)
+          .setEmbeddedServerOnInstrumentedVertx(true)
+          .setEmbeddedServerOptions(new HttpServerOptions().setPort(8080)))
+        .setEnabled(true)));
+  }
+
   public void setupPrometheusRequestHandler(Vertx vertx, PrometheusMeterRegistry prometheusMeterRegistry) {
     vertx.createHttpServer()
       .requestHandler(PrometheusRequestHandler.create(prometheusMeterRegistry, "/metrics/prometheus"))
@@ -136,6 +147,24 @@ public class MicrometerMetricsExamples {
     vertx.createHttpServer().requestHandler(router).listen(8080);
   }
 
+  public void setupPrometheusScrapeStreaming() {
+    VertxPrometheusOptions prometheusOptions = new VertxPrometheusOptions().setEnabled(true)
+      .setScrapeStreamingEnabled(true)
+      .setScrapeWorkerPoolSize(2)
+      .setScrapeCacheTtl(5000)
+      .setScrapeCompressionEnabled(true)
+      .setScrapeFormatNegotiationEnabled(true)
+      .setScrapeExcludedPrefixes(List.of("jvm_"));
+    Vertx vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+      new MicrometerMetricsOptions()
+        .setPrometheusOptions(prometheusOptions)
+        .setEnabled(true)));
+
+    Router router = Router.router(vertx);
+    router.route("/metrics").handler(PrometheusScrapingHandler.create(prometheusOptions));
+    vertx.createHttpServer().requestHandler(router).listen(8080);
+  }
+
   public void setupMinimalJMX() {
     Vertx vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
       new MicrometerMetricsOptions()
@@ -207,6 +236,24 @@ public class MicrometerMetricsExamples {
         .setEnabled(true)));
   }
 
+  public void setupWithMatcherForPrefixes() {
+    Vertx vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+      new MicrometerMetricsOptions()
+        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+        // Keep event bus metrics of addresses starting with "orders." or "payments." only
+        .addLabelMatch(new Match()
+          .setDomain(MetricsDomain.EVENT_BUS)
+          .setLabel("address")
+          .setType(MatchType.PREFIX)
+          .setValue("orders."))
+        .addLabelMatch(new Match()
+          .setDomain(MetricsDomain.EVENT_BUS)
+          .setLabel("address")
+          .setType(MatchType.PREFIX)
+          .setValue("payments."))
+        .setEnabled(true)));
+  }
+
   public void setupWithLabelsEnabled() {
     Vertx vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
       new MicrometerMetricsOptions()
@@ -215,6 +262,40 @@ public class MicrometerMetricsExamples {
         .setEnabled(true)));
   }
 
+  public void setupWithHttpPathTemplating() {
+    Vertx vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+      new MicrometerMetricsOptions()
+        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+        .setLabels(EnumSet.of(Label.HTTP_PATH, Label.HTTP_METHOD, Label.HTTP_CODE))
+        // "/users/123/orders" is reported as "/users/{id}/orders"
+        .setHttpPathTemplatingEnabled(true)
+        // "/users/john@example.com" is reported as "/users/{email}"
+        .addHttpPathTemplate("[^/]+@[^/]+", "{email}")
+        .setEnabled(true)));
+  }
+
+  public void setupWithLabelCardinalityLimit() {
+    Vertx vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+      new MicrometerMetricsOptions()
+        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+        .setLabels(EnumSet.of(Label.HTTP_PATH, Label.HTTP_CODE))
+        // Paths beyond the first 200 distinct values are reported as "_other"
+        .setLabelCardinalityLimit(200)
+        // Except for HTTP server paths, limited to 50 values
+        .addLabelCardinalityLimit(MetricsDomain.HTTP_SERVER, Label.HTTP_PATH, 50)
+        .setEnabled(true)));
+  }
+
+  public void setupWithIdleSeriesTimeout() {
+    Vertx vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+      new MicrometerMetricsOptions()
+        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+        .setLabels(EnumSet.of(Label.REMOTE, Label.HTTP_CODE))
+        // Remove series of remote clients that have been idle for at least 10 minutes
+        .setIdleSeriesTimeout(600)
+        .setEnabled(true)));
+  }
+
   public void useMicrometerFilters() {
     MeterRegistry registry = BackendRegistries.getDefaultNow();
     Pattern pattern = Pattern.compile("/foo/bar/.*");
@@ -9,6 +9,28 @@ import io.vertx.codegen.annotations.VertxGen;
  */
 @VertxGen
 public enum MatchType {
+  /**
+   * The label value is equal to the matched value.
+   */
   EQUALS,
-  REGEX
+  /**
+   * The label value matches the regular expression.
+   */
+  REGEX,
+  /**
+   * The label value starts with the matched value.
+   * <p>
+   * Successive prefix rules without alias for the same label and domain are evaluated together: values starting with
+   * any of their prefixes are accepted.
+   */
+  PREFIX,
+  /**
+   * The label value ends with the matched value.
+   */
+  SUFFIX,
+  /**
+   * The label value matches the glob pattern, where {@code *} matches any sequence of characters and {@code ?} matches
+   * any single character.
+   */
+  GLOB
 }
@@ -53,6 +53,7 @@ public class MetricsNaming {
   private String httpRequestsCount;
   private String httpRequestBytes;
   private String httpResponseTime;
+  private String httpResponseTimeSamplingRatio;
   private String httpResponsesCount;
   private String httpResponseBytes;
   private String httpActiveWsConnections;
@@ -67,6 +68,7 @@ public class MetricsNaming {
   private String poolInUse;
   private String poolUsageRatio;
   private String poolCompleted;
+  private String labelValuesCollapsed;
 
   /**
    * Default constructor
@@ -105,6 +107,7 @@ public class MetricsNaming {
     httpRequestsCount = other.httpRequestsCount;
     httpRequestBytes = other.httpRequestBytes;
     httpResponseTime = other.httpResponseTime;
+    httpResponseTimeSamplingRatio = other.httpResponseTimeSamplingRatio;
     httpResponsesCount = other.httpResponsesCount;
     httpResponseBytes = other.httpResponseBytes;
     httpActiveWsConnections = other.httpActiveWsConnections;
@@ -119,6 +122,7 @@ public class MetricsNaming {
     poolInUse = other.poolInUse;
     poolUsageRatio = other.poolUsageRatio;
     poolCompleted = other.poolCompleted;
+    labelValuesCollapsed = other.labelValuesCollapsed;
   }
 
   /**
@@ -167,6 +171,7 @@ public class MetricsNaming {
     mn.httpRequestsCount = "requests";
     mn.httpRequestBytes = "request.bytes";
     mn.httpResponseTime = "response.time";
+    mn.httpResponseTimeSamplingRatio = "response.time.sampling.ratio";
     mn.httpResponsesCount = "responses";
     mn.httpResponseBytes = "response.bytes";
     mn.httpActiveWsConnections = "active.ws.connections";
@@ -181,6 +186,7 @@ public class MetricsNaming {
     mn.poolInUse = "in.use";
     mn.poolUsageRatio = "ratio";
     mn.poolCompleted = "completed";
+    mn.labelValuesCollapsed = "labels.collapsed";
     return mn;
   }
 
@@ -535,6 +541,24 @@ public class MetricsNaming {
     return this;
   }
 
+  public String getLabelValuesCollapsed() {
+    return labelValuesCollapsed;
+  }
+
+  public MetricsNaming setLabelValuesCollapsed(String labelValuesCollapsed) {
+    this.labelValuesCollapsed = labelValuesCollapsed;
+    return this;
+  }
+
+  public String getHttpResponseTimeSamplingRatio() {
+    return httpResponseTimeSamplingRatio;
+  }
+
+  public MetricsNaming setHttpResponseTimeSamplingRatio(String httpResponseTimeSamplingRatio) {
+    this.httpResponseTimeSamplingRatio = httpResponseTimeSamplingRatio;
+    return this;
+  }
+
   public MetricsNaming withBaseName(String baseName) {
     if (baseName == null || baseName.isEmpty()) {
       return new MetricsNaming(this);
@@ -565,6 +589,7 @@ public class MetricsNaming {
     copy.httpRequestsCount = baseName + this.httpRequestsCount;
     copy.httpRequestBytes = baseName + this.httpRequestBytes;
     copy.httpResponseTime = baseName + this.httpResponseTime;
+    copy.httpResponseTimeSamplingRatio = baseName + this.httpResponseTimeSamplingRatio;
     copy.httpResponsesCount = baseName + this.httpResponsesCount;
     copy.httpResponseBytes = baseName + this.httpResponseBytes;
     copy.httpActiveWsConnections = baseName + this.httpActiveWsConnections;
@@ -579,6 +604,7 @@ public class MetricsNaming {
     copy.poolInUse = baseName + this.poolInUse;
     copy.poolUsageRatio = baseName + this.poolUsageRatio;
     copy.poolCompleted = baseName + this.poolCompleted;
+    copy.labelValuesCollapsed = baseName + this.labelValuesCollapsed;
     return copy;
   }
 }
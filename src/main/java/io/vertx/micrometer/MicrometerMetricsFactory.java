@@ -40,7 +40,8 @@ import java.util.concurrent.atomic.LongAdder;
  */
 public class MicrometerMetricsFactory implements VertxMetricsFactory {
 
-  private static final Map<MeterRegistry, ConcurrentMap<Meter.Id, LongAdder>> longGaugesByRegistry = new WeakHashMap<>(1);
+  // The adders of the gauges are shared by the Vert.x instances using the same registry, and so are their stripes
+  private static final Map<MeterRegistry, LongGauges> longGaugesByRegistry = new WeakHashMap<>(1);
 
   private final MeterRegistry micrometerRegistry;
 
@@ -79,11 +80,16 @@ public class MicrometerMetricsFactory implements VertxMetricsFactory {
       options = new MicrometerMetricsOptions(metricsOptions.toJson());
     }
     BackendRegistry backendRegistry = BackendRegistries.setupBackend(options, micrometerRegistry);
-    ConcurrentMap<Meter.Id, LongAdder> longGauges;
+    LongGauges longGauges;
     synchronized (longGaugesByRegistry) {
-      longGauges = longGaugesByRegistry.computeIfAbsent(backendRegistry.getMeterRegistry(), meterRegistry -> new ConcurrentHashMap<>());
+      longGauges = longGaugesByRegistry.computeIfAbsent(backendRegistry.getMeterRegistry(), meterRegistry -> {
+        ConcurrentMap<Meter.Id, LongAdder> map = new ConcurrentHashMap<>();
+        // Drop the adder of removed gauges, a new one is created if the gauge is registered again
+        meterRegistry.config().onMeterRemoved(meter -> map.remove(meter.getId()));
+        return new LongGauges(map, vertxOptions.getEventLoopPoolSize());
+      });
     }
-    VertxMetricsImpl metrics = new VertxMetricsImpl(options, backendRegistry, new LongGauges(longGauges));
+    VertxMetricsImpl metrics = new VertxMetricsImpl(options, backendRegistry, longGauges);
     metrics.init();
 
     return metrics;
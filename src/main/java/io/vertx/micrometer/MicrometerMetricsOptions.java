@@ -73,12 +73,51 @@ public class MicrometerMetricsOptions extends MetricsOptions {
 
   /**
    * Whether a meter cache should be enabled by default = true.
-   * @deprecated as of 5.1, this is no longer used since Vert.x 5.0
    */
-  @Deprecated(forRemoval = true)
   public static final boolean DEFAULT_METER_CACHED_ENABLED = true;
 
+  /**
+   * Default maximum number of meters cached per metric name and measured object = 10000.
+   */
+  public static final int DEFAULT_METER_CACHE_MAX_SIZE = 10_000;
+
+  /**
+   * Default timeout after which idle series are removed, in seconds = 0 (never removed).
+   */
+  public static final int DEFAULT_IDLE_SERIES_TIMEOUT = 0;
+
+  /**
+   * Default maximum number of distinct values per label and domain = 0 (no limit).
+   */
+  public static final int DEFAULT_LABEL_CARDINALITY_LIMIT = 0;
+
+  /**
+   * Whether variable segments of HTTP paths should be replaced with placeholders by default = false.
+   */
+  public static final boolean DEFAULT_HTTP_PATH_TEMPLATING_ENABLED = false;
+
+  /**
+   * Whether label matches should be evaluated when building tags by default = false.
+   */
+  public static final boolean DEFAULT_LABEL_MATCHES_AT_SOURCE_ENABLED = false;
+
+  /**
+   * Default interval at which bytes read and written by TCP connections are added to the counters, in milliseconds = 0 (immediately).
+   */
+  public static final int DEFAULT_NET_BYTES_FLUSH_INTERVAL = 0;
+
+  /**
+   * Whether HTTP status codes should be reduced to their class, e.g. {@code 2xx}, by default = false.
+   */
+  public static final boolean DEFAULT_HTTP_CODE_CLASS_ENABLED = false;
+
+  /**
+   * Default sampling of HTTP response times = 1 (all responses are timed).
+   */
+  public static final int DEFAULT_HTTP_RESPONSE_TIME_SAMPLING = 1;
+
   private Set<String> disabledMetricsCategories;
+  private Set<String> disabledMetrics;
   private String registryName;
   private Set<Label> labels;
   private List<Match> labelMatches;
@@ -88,6 +127,17 @@ public class MicrometerMetricsOptions extends MetricsOptions {
   private boolean jvmMetricsEnabled;
   private boolean nettyMetricsEnabled;
   private MetricsNaming metricsNaming;
+  private boolean meterCacheEnabled;
+  private int meterCacheMaxSize;
+  private int idleSeriesTimeout;
+  private int labelCardinalityLimit;
+  private Map<String, Integer> labelCardinalityLimits;
+  private boolean httpPathTemplatingEnabled;
+  private Map<String, String> httpPathTemplates;
+  private boolean labelMatchesAtSourceEnabled;
+  private int netBytesFlushInterval;
+  private boolean httpCodeClassEnabled;
+  private int httpResponseTimeSampling;
   private Function<HttpRequest, Iterable<Tag>> serverRequestTagsProvider;
   private Function<HttpRequest, Iterable<Tag>> clientRequestTagsProvider;
 
@@ -96,12 +146,24 @@ public class MicrometerMetricsOptions extends MetricsOptions {
    */
   public MicrometerMetricsOptions() {
     disabledMetricsCategories = new HashSet<>();
+    disabledMetrics = new HashSet<>();
     registryName = DEFAULT_REGISTRY_NAME;
     labels = EnumSet.copyOf(DEFAULT_LABELS);
     labelMatches = new ArrayList<>();
     jvmMetricsEnabled = DEFAULT_JVM_METRICS_ENABLED;
     nettyMetricsEnabled = DEFAULT_NETTY_METRICS_ENABLED;
     metricsNaming = DEFAULT_METRICS_NAMING;
+    meterCacheEnabled = DEFAULT_METER_CACHED_ENABLED;
+    meterCacheMaxSize = DEFAULT_METER_CACHE_MAX_SIZE;
+    idleSeriesTimeout = DEFAULT_IDLE_SERIES_TIMEOUT;
+    labelCardinalityLimit = DEFAULT_LABEL_CARDINALITY_LIMIT;
+    labelCardinalityLimits = new LinkedHashMap<>();
+    httpPathTemplatingEnabled = DEFAULT_HTTP_PATH_TEMPLATING_ENABLED;
+    httpPathTemplates = new LinkedHashMap<>();
+    labelMatchesAtSourceEnabled = DEFAULT_LABEL_MATCHES_AT_SOURCE_ENABLED;
+    netBytesFlushInterval = DEFAULT_NET_BYTES_FLUSH_INTERVAL;
+    httpCodeClassEnabled = DEFAULT_HTTP_CODE_CLASS_ENABLED;
+    httpResponseTimeSampling = DEFAULT_HTTP_RESPONSE_TIME_SAMPLING;
     serverRequestTagsProvider = null;
     clientRequestTagsProvider = null;
   }
@@ -112,6 +174,7 @@ public class MicrometerMetricsOptions extends MetricsOptions {
   public MicrometerMetricsOptions(MicrometerMetricsOptions other) {
     super(other);
     disabledMetricsCategories = other.disabledMetricsCategories != null ? new HashSet<>(other.disabledMetricsCategories) : new HashSet<>();
+    disabledMetrics = other.disabledMetrics != null ? new HashSet<>(other.disabledMetrics) : new HashSet<>();
     registryName = other.registryName;
     labels = other.labels != null ? EnumSet.copyOf(other.labels) : EnumSet.noneOf(Label.class);
     labelMatches = new ArrayList<>(other.labelMatches);
@@ -127,6 +190,19 @@ public class MicrometerMetricsOptions extends MetricsOptions {
     jvmMetricsEnabled = other.jvmMetricsEnabled;
     nettyMetricsEnabled = other.nettyMetricsEnabled;
     metricsNaming = other.metricsNaming;
+    meterCacheEnabled = other.meterCacheEnabled;
+    meterCacheMaxSize = other.meterCacheMaxSize;
+    idleSeriesTimeout = other.idleSeriesTimeout;
+    labelCardinalityLimit = other.labelCardinalityLimit;
+    labelCardinalityLimits = other.labelCardinalityLimits != null
+      ? new LinkedHashMap<>(other.labelCardinalityLimits)
+      : new LinkedHashMap<>();
+    httpPathTemplatingEnabled = other.httpPathTemplatingEnabled;
+    httpPathTemplates = new LinkedHashMap<>(other.httpPathTemplates);
+    labelMatchesAtSourceEnabled = other.labelMatchesAtSourceEnabled;
+    netBytesFlushInterval = other.netBytesFlushInterval;
+    httpCodeClassEnabled = other.httpCodeClassEnabled;
+    httpResponseTimeSampling = other.httpResponseTimeSampling;
     serverRequestTagsProvider = other.serverRequestTagsProvider;
     clientRequestTagsProvider = other.clientRequestTagsProvider;
   }
@@ -238,6 +314,45 @@ public class MicrometerMetricsOptions extends MetricsOptions {
     return disabledMetricsCategories != null && disabledMetricsCategories.contains(category);
   }
 
+  /**
+   * @return the disabled metrics, as {@link MetricsNaming} property names
+   */
+  public Set<String> getDisabledMetrics() {
+    return disabledMetrics;
+  }
+
+  /**
+   * Sets metrics that are disabled, identified by their {@link MetricsNaming} property name, for example
+   * {@code httpRequestBytes} or {@code httpActiveRequests}.
+   * <p>
+   * Unlike a {@link #setDisabledMetricsCategories(Set) disabled category}, the other metrics of the domain are still
+   * collected. Disabled metrics are neither registered nor updated: their labels are not even computed.
+   * Names that are not {@link MetricsNaming} properties are ignored, and logged as a warning.
+   *
+   * @param disabledMetrics the property names of the metrics to disable
+   * @return a reference to this, so that the API can be used fluently
+   */
+  public MicrometerMetricsOptions setDisabledMetrics(Set<String> disabledMetrics) {
+    this.disabledMetrics = disabledMetrics;
+    return this;
+  }
+
+  /**
+   * Disable a metric, identified by its {@link MetricsNaming} property name.
+   *
+   * @param metric the property name of the metric, for example {@code httpRequestBytes}
+   * @return a reference to this, so that the API can be used fluently
+   * @see #setDisabledMetrics(Set)
+   */
+  @GenIgnore
+  public MicrometerMetricsOptions addDisabledMetric(String metric) {
+    if (disabledMetrics == null) {
+      disabledMetrics = new HashSet<>();
+    }
+    disabledMetrics.add(metric);
+    return this;
+  }
+
   /**
    * Get the metrics registry name set in these options
    */
@@ -424,6 +539,288 @@ public class MicrometerMetricsOptions extends MetricsOptions {
     return this;
   }
 
+  /**
+   * @return {@code true} if meters resolved for a set of tags are cached, {@code false} otherwise
+   */
+  public boolean isMeterCacheEnabled() {
+    return meterCacheEnabled;
+  }
+
+  /**
+   * Whether meters resolved for a set of tags should be cached, instead of being looked up in the registry every time
+   * a value is recorded. Defaults to {@code true}.
+   *
+   * @param meterCacheEnabled {@code true} to cache meters, {@code false} otherwise
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MicrometerMetricsOptions setMeterCacheEnabled(boolean meterCacheEnabled) {
+    this.meterCacheEnabled = meterCacheEnabled;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of meters cached per metric name and measured object
+   */
+  public int getMeterCacheMaxSize() {
+    return meterCacheMaxSize;
+  }
+
+  /**
+   * Set the maximum number of meters cached per metric name and measured object (e.g. per HTTP server, or per pool).
+   * When the limit is reached, idle meters are evicted from the cache and removed from the registry.
+   * Defaults to {@code 10000}.
+   *
+   * @param meterCacheMaxSize the maximum number of cached meters
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MicrometerMetricsOptions setMeterCacheMaxSize(int meterCacheMaxSize) {
+    this.meterCacheMaxSize = meterCacheMaxSize;
+    return this;
+  }
+
+  /**
+   * @return the timeout after which idle series are removed, in seconds
+   */
+  public int getIdleSeriesTimeout() {
+    return idleSeriesTimeout;
+  }
+
+  /**
+   * Set the timeout after which idle series are removed from the registry, in seconds.
+   * <p>
+   * Only series tagged with {@link Label#REMOTE}, {@link Label#HTTP_PATH} or {@link Label#EB_ADDRESS} are considered.
+   * A gauge is idle when its value has been zero for the whole timeout, and other meters when they have not been updated.
+   * A removed series is registered again as soon as new activity is recorded.
+   * <p>
+   * This requires the meter cache to be enabled, and its maximum size should be large enough to hold all active series.
+   * Default is 0, meaning that series are never removed.
+   *
+   * @param idleSeriesTimeout the timeout in seconds, or 0 to disable
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MicrometerMetricsOptions setIdleSeriesTimeout(int idleSeriesTimeout) {
+    this.idleSeriesTimeout = idleSeriesTimeout;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of distinct values per label and domain
+   */
+  public int getLabelCardinalityLimit() {
+    return labelCardinalityLimit;
+  }
+
+  /**
+   * Set the maximum number of distinct values of the {@link Label#REMOTE}, {@link Label#HTTP_PATH} and
+   * {@link Label#EB_ADDRESS} labels, per metrics domain.
+   * <p>
+   * Once a label reaches the limit in a domain, new values are replaced with {@code _other}, and the
+   * {@link MetricsNaming#getLabelValuesCollapsed()} counter of the domain is incremented. When the meter cache removes
+   * series from the registry, e.g. with idle series expiry, values no longer used by any series of the domain free
+   * their slot.
+   * The limit of specific labels and domains can be overridden with {@link #setLabelCardinalityLimits(Map)}.
+   * Default is 0, meaning that the number of values is not limited.
+   *
+   * @param labelCardinalityLimit the maximum number of distinct values, or 0 for no limit
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MicrometerMetricsOptions setLabelCardinalityLimit(int labelCardinalityLimit) {
+    this.labelCardinalityLimit = labelCardinalityLimit;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of distinct values of specific labels in specific domains, keyed by
+   * {@code <domain category>/<label>}
+   */
+  public Map<String, Integer> getLabelCardinalityLimits() {
+    return labelCardinalityLimits;
+  }
+
+  /**
+   * Set the maximum number of distinct values of specific labels in specific domains, overriding the
+   * {@link #setLabelCardinalityLimit(int) limit} of all labels and domains.
+   * <p>
+   * Keys are made of the domain category and the label, for example {@code http.server/path} or
+   * {@code eventbus/address}. A limit of 0 disables the limit of the label in the domain.
+   *
+   * @param labelCardinalityLimits the maximum number of distinct values, keyed by {@code <domain category>/<label>}
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MicrometerMetricsOptions setLabelCardinalityLimits(Map<String, Integer> labelCardinalityLimits) {
+    this.labelCardinalityLimits = labelCardinalityLimits;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of distinct values of a label in a domain.
+   *
+   * @param domain the metrics domain
+   * @param label the label
+   * @param limit the maximum number of distinct values, or 0 for no limit
+   * @return a reference to this, so the API can be used fluently
+   * @see #setLabelCardinalityLimits(Map)
+   */
+  @GenIgnore
+  public MicrometerMetricsOptions addLabelCardinalityLimit(MetricsDomain domain, Label label, int limit) {
+    if (labelCardinalityLimits == null) {
+      labelCardinalityLimits = new LinkedHashMap<>();
+    }
+    labelCardinalityLimits.put(domain.toCategory() + "/" + label, limit);
+    return this;
+  }
+
+  /**
+   * @return {@code true} if variable segments of HTTP paths are replaced with placeholders, {@code false} otherwise
+   */
+  public boolean isHttpPathTemplatingEnabled() {
+    return httpPathTemplatingEnabled;
+  }
+
+  /**
+   * Whether variable segments of HTTP paths should be replaced with placeholders in the {@link Label#HTTP_PATH} label.
+   * <p>
+   * When enabled, numeric segments are replaced with {@code {id}}, UUIDs with {@code {uuid}} and hexadecimal hashes
+   * with {@code {hash}}, as well as segments matching one of the {@link #setHttpPathTemplates(Map) templates}.
+   * For example, {@code /users/123/orders} is reported as {@code /users/{id}/orders}. Defaults to {@code false}.
+   *
+   * @param httpPathTemplatingEnabled {@code true} to replace variable segments, {@code false} otherwise
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MicrometerMetricsOptions setHttpPathTemplatingEnabled(boolean httpPathTemplatingEnabled) {
+    this.httpPathTemplatingEnabled = httpPathTemplatingEnabled;
+    return this;
+  }
+
+  /**
+   * @return the regular expressions matching HTTP path segments, mapped to their placeholder
+   */
+  public Map<String, String> getHttpPathTemplates() {
+    return httpPathTemplates;
+  }
+
+  /**
+   * Set additional regular expressions matching HTTP path segments, mapped to the placeholder replacing them.
+   * A segment must fully match the regular expression to be replaced. This is only used when
+   * {@link #setHttpPathTemplatingEnabled(boolean) path templating} is enabled.
+   *
+   * @param httpPathTemplates the regular expressions mapped to their placeholder
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MicrometerMetricsOptions setHttpPathTemplates(Map<String, String> httpPathTemplates) {
+    this.httpPathTemplates = httpPathTemplates;
+    return this;
+  }
+
+  /**
+   * Add a regular expression matching HTTP path segments to be replaced with {@code placeholder}.
+   *
+   * @param regex the regular expression
+   * @param placeholder the placeholder
+   * @return a reference to this, so the API can be used fluently
+   */
+  @GenIgnore
+  public MicrometerMetricsOptions addHttpPathTemplate(String regex, String placeholder) {
+    if (httpPathTemplates == null) {
+      httpPathTemplates = new LinkedHashMap<>();
+    }
+    httpPathTemplates.put(regex, placeholder);
+    return this;
+  }
+
+  /**
+   * @return {@code true} if label matches are evaluated when building tags, {@code false} otherwise
+   */
+  public boolean isLabelMatchesAtSourceEnabled() {
+    return labelMatchesAtSourceEnabled;
+  }
+
+  /**
+   * Whether {@link #setLabelMatches(List) label matches} should also be evaluated when Vert.x metrics build the tags of
+   * a meter, before looking it up in the registry.
+   * <p>
+   * When enabled, a meter denied by the label matches is replaced with a no-op meter without querying the registry.
+   * Accepted meters are still registered through the registry filters. Only the label matches are considered: a
+   * combination denied by them is not recorded, even if another filter of the registry would accept it.
+   * Defaults to {@code false}.
+   *
+   * @param labelMatchesAtSourceEnabled {@code true} to evaluate label matches when building tags, {@code false} otherwise
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MicrometerMetricsOptions setLabelMatchesAtSourceEnabled(boolean labelMatchesAtSourceEnabled) {
+    this.labelMatchesAtSourceEnabled = labelMatchesAtSourceEnabled;
+    return this;
+  }
+
+  /**
+   * @return the interval at which bytes read and written by TCP connections are added to the counters, in milliseconds
+   */
+  public int getNetBytesFlushInterval() {
+    return netBytesFlushInterval;
+  }
+
+  /**
+   * Set the interval at which bytes read and written by TCP connections are added to the counters, in milliseconds.
+   * <p>
+   * When greater than 0, each connection accumulates its bytes on its event loop instead of updating the shared counters
+   * on every read and write. The totals are added periodically, and when the connection is closed, so the reported
+   * values lag behind by at most one interval.
+   * Default is 0, meaning that counters are updated immediately.
+   *
+   * @param netBytesFlushInterval the interval in milliseconds, or 0 to disable
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MicrometerMetricsOptions setNetBytesFlushInterval(int netBytesFlushInterval) {
+    this.netBytesFlushInterval = netBytesFlushInterval;
+    return this;
+  }
+
+  /**
+   * @return {@code true} if HTTP status codes are reduced to their class, {@code false} otherwise
+   */
+  public boolean isHttpCodeClassEnabled() {
+    return httpCodeClassEnabled;
+  }
+
+  /**
+   * Whether the {@link Label#HTTP_CODE} label of HTTP client and server metrics should only hold the class of the status
+   * code, e.g. {@code 2xx} or {@code 5xx}, instead of the status code itself.
+   * <p>
+   * This divides the number of series per request tags by up to a hundred. Non-standard status codes, outside of the
+   * 100-599 range, are kept as is. Defaults to {@code false}.
+   *
+   * @param httpCodeClassEnabled {@code true} to only keep the class of status codes, {@code false} otherwise
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MicrometerMetricsOptions setHttpCodeClassEnabled(boolean httpCodeClassEnabled) {
+    this.httpCodeClassEnabled = httpCodeClassEnabled;
+    return this;
+  }
+
+  /**
+   * @return the sampling of HTTP response times, one response in this number being timed
+   */
+  public int getHttpResponseTimeSampling() {
+    return httpResponseTimeSampling;
+  }
+
+  /**
+   * Set the sampling of HTTP response times: on average, one response in {@code httpResponseTimeSampling} is timed.
+   * <p>
+   * This applies to the response time of HTTP server and client metrics. Other metrics, like request counts, remain exact.
+   * When sampling, the ratio of timed responses is exposed by the {@link MetricsNaming#getHttpResponseTimeSamplingRatio()}
+   * gauge (e.g. {@code vertx_http_server_response_time_sampling_ratio} with Prometheus), so that timer counts can be
+   * scaled back. Like other metrics, it can be renamed or disabled.
+   * Default is 1, meaning that all responses are timed.
+   *
+   * @param httpResponseTimeSampling the number of responses per timed response
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MicrometerMetricsOptions setHttpResponseTimeSampling(int httpResponseTimeSampling) {
+    this.httpResponseTimeSampling = httpResponseTimeSampling;
+    return this;
+  }
+
   /**
    * @return an optional custom tags provider for HTTP server requests
    */
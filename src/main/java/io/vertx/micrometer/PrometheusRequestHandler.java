@@ -55,6 +55,23 @@ public interface PrometheusRequestHandler {
     return new PrometheusRequestHandlerImpl(registry, metricsEndpoint);
   }
 
+  /**
+   * Creates a handler with the specified PrometheusMeterRegistry, metrics endpoint and options.
+   * <p>
+   * This handler scrapes metrics from the given PrometheusMeterRegistry and serves them
+   * at the specified endpoint, rendering the response as configured by {@code options}.
+   * </p>
+   *
+   * @param registry        the PrometheusMeterRegistry to use for scraping metrics
+   * @param metricsEndpoint the endpoint to expose metrics
+   * @param options         the Prometheus options
+   * @return a handler for scraping Prometheus metrics
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  static Handler<HttpServerRequest> create(PrometheusMeterRegistry registry, String metricsEndpoint, VertxPrometheusOptions options) {
+    return new PrometheusRequestHandlerImpl(registry, metricsEndpoint, options);
+  }
+
   /**
    * Creates a handler with the specified PrometheusMeterRegistry and the default metrics endpoint ("/metrics").
    * <p>
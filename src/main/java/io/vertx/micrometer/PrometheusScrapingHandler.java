@@ -45,6 +45,18 @@ public interface PrometheusScrapingHandler {
     return new PrometheusScrapingHandlerImpl();
   }
 
+  /**
+   * Creates a Vert.x Web {@link io.vertx.ext.web.Route} handler for Prometheus metrics scraping.
+   * The default backend registry is used, and the response is rendered as configured by {@code options}.
+   *
+   * @param options the Prometheus options
+   * @return a {@link io.vertx.ext.web.Route} handler for the default backend registry
+   * @see BackendRegistries#getDefaultNow()
+   */
+  static Handler<RoutingContext> create(VertxPrometheusOptions options) {
+    return new PrometheusScrapingHandlerImpl(options);
+  }
+
   /**
    * Creates a Vert.x Web {@link io.vertx.ext.web.Route} handler for Prometheus metrics scraping.
    * The registry specified by {@code registryName} is used.
@@ -57,6 +69,19 @@ public interface PrometheusScrapingHandler {
     return new PrometheusScrapingHandlerImpl(registryName);
   }
 
+  /**
+   * Creates a Vert.x Web {@link io.vertx.ext.web.Route} handler for Prometheus metrics scraping.
+   * The registry specified by {@code registryName} is used, and the response is rendered as configured by {@code options}.
+   *
+   * @param registryName the backend metrics registry
+   * @param options the Prometheus options
+   * @return a {@link io.vertx.ext.web.Route} handler for a specific metrics registry
+   * @see BackendRegistries#getNow(String)
+   */
+  static Handler<RoutingContext> create(String registryName, VertxPrometheusOptions options) {
+    return new PrometheusScrapingHandlerImpl(registryName, options);
+  }
+
   /**
    * Creates a Vert.x Web {@link io.vertx.ext.web.Route} handler for Prometheus metrics scraping.
    * The registry specified by {@code registry} is used.
@@ -68,4 +93,17 @@ public interface PrometheusScrapingHandler {
   static Handler<RoutingContext> create(PrometheusMeterRegistry registry) {
     return new PrometheusScrapingHandlerImpl(registry);
   }
+
+  /**
+   * Creates a Vert.x Web {@link io.vertx.ext.web.Route} handler for Prometheus metrics scraping.
+   * The registry specified by {@code registry} is used, and the response is rendered as configured by {@code options}.
+   *
+   * @param registry the backend metrics registry
+   * @param options the Prometheus options
+   * @return a {@link io.vertx.ext.web.Route} handler for a specific metrics registry
+   */
+  @GenIgnore(PERMITTED_TYPE)
+  static Handler<RoutingContext> create(PrometheusMeterRegistry registry, VertxPrometheusOptions options) {
+    return new PrometheusScrapingHandlerImpl(registry, options);
+  }
 }
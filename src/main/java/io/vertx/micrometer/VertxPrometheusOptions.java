@@ -21,6 +21,9 @@ import io.vertx.codegen.json.annotations.JsonGen;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.json.JsonObject;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Options for Prometheus metrics backend.
  *
@@ -50,11 +53,55 @@ public class VertxPrometheusOptions {
    */
   public static final boolean DEFAULT_PUBLISH_QUANTILES = false;
 
+  /**
+   * Default value for streaming the scrape response = false.
+   */
+  public static final boolean DEFAULT_SCRAPE_STREAMING_ENABLED = false;
+
+  /**
+   * Default size of the scrape worker pool = 0, scrapes run on the event loop.
+   */
+  public static final int DEFAULT_SCRAPE_WORKER_POOL_SIZE = 0;
+
+  /**
+   * Default time to live of cached scrapes, in milliseconds = 0, scrapes are not cached.
+   */
+  public static final long DEFAULT_SCRAPE_CACHE_TTL = 0;
+
+  /**
+   * Default value for compressing the scrape response = false.
+   */
+  public static final boolean DEFAULT_SCRAPE_COMPRESSION_ENABLED = false;
+
+  /**
+   * Default compression level of the scrape response = 6.
+   */
+  public static final int DEFAULT_SCRAPE_COMPRESSION_LEVEL = 6;
+
+  /**
+   * Default value for negotiating the exposition format of scrapes = false.
+   */
+  public static final boolean DEFAULT_SCRAPE_FORMAT_NEGOTIATION_ENABLED = false;
+
+  /**
+   * Default value for starting the embedded server on the instrumented Vert.x instance = false.
+   */
+  public static final boolean DEFAULT_EMBEDDED_SERVER_ON_INSTRUMENTED_VERTX = false;
+
   private boolean enabled;
   private boolean startEmbeddedServer;
   private HttpServerOptions embeddedServerOptions;
   private String embeddedServerEndpoint;
   private boolean publishQuantiles;
+  private boolean scrapeStreamingEnabled;
+  private int scrapeWorkerPoolSize;
+  private long scrapeCacheTtl;
+  private boolean scrapeCompressionEnabled;
+  private int scrapeCompressionLevel;
+  private boolean scrapeFormatNegotiationEnabled;
+  private List<String> scrapeIncludedPrefixes;
+  private List<String> scrapeExcludedPrefixes;
+  private boolean embeddedServerOnInstrumentedVertx;
 
   /**
    * Default constructor
@@ -64,6 +111,15 @@ public class VertxPrometheusOptions {
     startEmbeddedServer = DEFAULT_START_EMBEDDED_SERVER;
     embeddedServerEndpoint = DEFAULT_EMBEDDED_SERVER_ENDPOINT;
     publishQuantiles = DEFAULT_PUBLISH_QUANTILES;
+    scrapeStreamingEnabled = DEFAULT_SCRAPE_STREAMING_ENABLED;
+    scrapeWorkerPoolSize = DEFAULT_SCRAPE_WORKER_POOL_SIZE;
+    scrapeCacheTtl = DEFAULT_SCRAPE_CACHE_TTL;
+    scrapeCompressionEnabled = DEFAULT_SCRAPE_COMPRESSION_ENABLED;
+    scrapeCompressionLevel = DEFAULT_SCRAPE_COMPRESSION_LEVEL;
+    scrapeFormatNegotiationEnabled = DEFAULT_SCRAPE_FORMAT_NEGOTIATION_ENABLED;
+    scrapeIncludedPrefixes = new ArrayList<>();
+    scrapeExcludedPrefixes = new ArrayList<>();
+    embeddedServerOnInstrumentedVertx = DEFAULT_EMBEDDED_SERVER_ON_INSTRUMENTED_VERTX;
   }
 
   /**
@@ -79,6 +135,15 @@ public class VertxPrometheusOptions {
       embeddedServerOptions = new HttpServerOptions(other.embeddedServerOptions);
     }
     publishQuantiles = other.publishQuantiles;
+    scrapeStreamingEnabled = other.scrapeStreamingEnabled;
+    scrapeWorkerPoolSize = other.scrapeWorkerPoolSize;
+    scrapeCacheTtl = other.scrapeCacheTtl;
+    scrapeCompressionEnabled = other.scrapeCompressionEnabled;
+    scrapeCompressionLevel = other.scrapeCompressionLevel;
+    scrapeFormatNegotiationEnabled = other.scrapeFormatNegotiationEnabled;
+    scrapeIncludedPrefixes = new ArrayList<>(other.scrapeIncludedPrefixes);
+    scrapeExcludedPrefixes = new ArrayList<>(other.scrapeExcludedPrefixes);
+    embeddedServerOnInstrumentedVertx = other.embeddedServerOnInstrumentedVertx;
   }
 
   /**
@@ -183,4 +248,189 @@ public class VertxPrometheusOptions {
     this.publishQuantiles = publishQuantiles;
     return this;
   }
+
+  /**
+   * @return true if the scrape output is streamed to the HTTP response
+   */
+  public boolean isScrapeStreamingEnabled() {
+    return scrapeStreamingEnabled;
+  }
+
+  /**
+   * Set true to stream the scrape output to the HTTP response in bounded chunks, instead of rendering the whole
+   * exposition as a single string first. This reduces the memory footprint of scrapes on large registries.
+   * Streamed scrapes are rendered on a worker thread, and pause while the response write queue is full.
+   *
+   * @param scrapeStreamingEnabled the scrape streaming flag
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxPrometheusOptions setScrapeStreamingEnabled(boolean scrapeStreamingEnabled) {
+    this.scrapeStreamingEnabled = scrapeStreamingEnabled;
+    return this;
+  }
+
+  /**
+   * @return the size of the worker pool running scrapes, or {@code 0} if scrapes run on the event loop
+   */
+  public int getScrapeWorkerPoolSize() {
+    return scrapeWorkerPoolSize;
+  }
+
+  /**
+   * Set the size of the worker pool running scrapes. When strictly positive, scrapes are rendered on a shared worker
+   * pool instead of the event loop, and the response is completed on the context that received the request.
+   * The pool size bounds the number of concurrent scrapes: a few extra scrapes wait for a worker to be available, and
+   * scrapes arriving once they are queued are rejected with a {@code 503} status. Concurrent scrapes of the whole
+   * registry share a single rendering. The pool is closed with the Vert.x instance.
+   * <p>
+   * Defaults to {@code 0}, scrapes run on the event loop.
+   *
+   * @param scrapeWorkerPoolSize the size of the scrape worker pool
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxPrometheusOptions setScrapeWorkerPoolSize(int scrapeWorkerPoolSize) {
+    this.scrapeWorkerPoolSize = scrapeWorkerPoolSize;
+    return this;
+  }
+
+  /**
+   * @return the time to live of cached scrapes, in milliseconds
+   */
+  public long getScrapeCacheTtl() {
+    return scrapeCacheTtl;
+  }
+
+  /**
+   * Set the time to live of cached scrapes, in milliseconds. When strictly positive, the rendered exposition is kept
+   * and served to the scrapes arriving within this delay. Scrapes arriving while the exposition is being rendered wait
+   * for the result instead of rendering it again.
+   * <p>
+   * Cached scrapes are rendered in memory, so this takes precedence over scrape streaming.
+   * Defaults to {@code 0}, scrapes are not cached.
+   *
+   * @param scrapeCacheTtl the time to live of cached scrapes, in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxPrometheusOptions setScrapeCacheTtl(long scrapeCacheTtl) {
+    this.scrapeCacheTtl = scrapeCacheTtl;
+    return this;
+  }
+
+  /**
+   * @return true if the scrape response is compressed for clients accepting it
+   */
+  public boolean isScrapeCompressionEnabled() {
+    return scrapeCompressionEnabled;
+  }
+
+  /**
+   * Set true to compress the scrape response with gzip, when the {@code Accept-Encoding} request header allows it.
+   * When scrapes are cached, the compressed exposition is cached as well.
+   *
+   * @param scrapeCompressionEnabled the scrape compression flag
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxPrometheusOptions setScrapeCompressionEnabled(boolean scrapeCompressionEnabled) {
+    this.scrapeCompressionEnabled = scrapeCompressionEnabled;
+    return this;
+  }
+
+  /**
+   * @return the gzip compression level of the scrape response
+   */
+  public int getScrapeCompressionLevel() {
+    return scrapeCompressionLevel;
+  }
+
+  /**
+   * Set the gzip compression level of the scrape response, from {@code 1} (fastest) to {@code 9} (best compression).
+   * Defaults to {@code 6}.
+   *
+   * @param scrapeCompressionLevel the scrape compression level
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxPrometheusOptions setScrapeCompressionLevel(int scrapeCompressionLevel) {
+    this.scrapeCompressionLevel = scrapeCompressionLevel;
+    return this;
+  }
+
+  /**
+   * @return true if the exposition format is negotiated from the {@code Accept} request header
+   */
+  public boolean isScrapeFormatNegotiationEnabled() {
+    return scrapeFormatNegotiationEnabled;
+  }
+
+  /**
+   * Set true to render the exposition format requested in the {@code Accept} request header: OpenMetrics text,
+   * Prometheus protobuf (if available on the classpath) or Prometheus text.
+   * When false, the Prometheus text format is always rendered.
+   *
+   * @param scrapeFormatNegotiationEnabled the format negotiation flag
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxPrometheusOptions setScrapeFormatNegotiationEnabled(boolean scrapeFormatNegotiationEnabled) {
+    this.scrapeFormatNegotiationEnabled = scrapeFormatNegotiationEnabled;
+    return this;
+  }
+
+  /**
+   * @return the prefixes of the metric names rendered by scrapes
+   */
+  public List<String> getScrapeIncludedPrefixes() {
+    return scrapeIncludedPrefixes;
+  }
+
+  /**
+   * Set the prefixes of the metric names rendered by scrapes, e.g. {@code vertx_http_server_}.
+   * When empty, all metrics are rendered, unless excluded.
+   * <p>
+   * Independently of this setting, scrapers can request specific metrics with {@code name[]} query parameters.
+   *
+   * @param scrapeIncludedPrefixes the included metric name prefixes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxPrometheusOptions setScrapeIncludedPrefixes(List<String> scrapeIncludedPrefixes) {
+    this.scrapeIncludedPrefixes = new ArrayList<>(scrapeIncludedPrefixes);
+    return this;
+  }
+
+  /**
+   * @return the prefixes of the metric names excluded from scrapes
+   */
+  public List<String> getScrapeExcludedPrefixes() {
+    return scrapeExcludedPrefixes;
+  }
+
+  /**
+   * Set the prefixes of the metric names excluded from scrapes, e.g. {@code jvm_}.
+   *
+   * @param scrapeExcludedPrefixes the excluded metric name prefixes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxPrometheusOptions setScrapeExcludedPrefixes(List<String> scrapeExcludedPrefixes) {
+    this.scrapeExcludedPrefixes = new ArrayList<>(scrapeExcludedPrefixes);
+    return this;
+  }
+
+  /**
+   * @return true if the embedded server is started on the instrumented Vert.x instance
+   */
+  public boolean isEmbeddedServerOnInstrumentedVertx() {
+    return embeddedServerOnInstrumentedVertx;
+  }
+
+  /**
+   * Set true to start the embedded server on the instrumented Vert.x instance, in a dedicated verticle, once it is
+   * created. When false, the embedded server is started on a separate Vert.x instance.
+   * <p>
+   * Note that requests to the embedded server are then instrumented like any other HTTP server request.
+   *
+   * @param embeddedServerOnInstrumentedVertx the flag for starting the embedded server on the instrumented Vert.x instance
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxPrometheusOptions setEmbeddedServerOnInstrumentedVertx(boolean embeddedServerOnInstrumentedVertx) {
+    this.embeddedServerOnInstrumentedVertx = embeddedServerOnInstrumentedVertx;
+    return this;
+  }
 }
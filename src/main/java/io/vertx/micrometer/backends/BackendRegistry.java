@@ -17,6 +17,7 @@
 package io.vertx.micrometer.backends;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Vertx;
 
 /**
  * @author Joel Takvorian
@@ -24,5 +25,6 @@ import io.micrometer.core.instrument.MeterRegistry;
 public interface BackendRegistry {
   MeterRegistry getMeterRegistry();
   default void init() {}
+  default void vertxCreated(Vertx vertx) {}
   default void close() {}
 }
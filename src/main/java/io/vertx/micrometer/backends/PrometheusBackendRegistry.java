@@ -22,7 +22,10 @@ import io.micrometer.core.instrument.config.MeterFilter;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.prometheusmetrics.PrometheusConfig;
 import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.VerticleBase;
+import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
@@ -38,6 +41,8 @@ public final class PrometheusBackendRegistry implements BackendRegistry {
   private final PrometheusMeterRegistry registry;
   private final VertxPrometheusOptions options;
   private Vertx vertx;
+  // The instrumented instance running the embedded server, if any
+  private Vertx embeddedServerVertx;
 
   public PrometheusBackendRegistry(VertxPrometheusOptions options) {
     this(options, new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
@@ -67,20 +72,55 @@ public final class PrometheusBackendRegistry implements BackendRegistry {
 
   @Override
   public void init() {
-    if (options.isStartEmbeddedServer()) {
+    if (options.isStartEmbeddedServer() && !options.isEmbeddedServerOnInstrumentedVertx()) {
       this.vertx = Vertx.vertx();
       // Start dedicated server
-      HttpServerOptions serverOptions = options.getEmbeddedServerOptions();
-      if (serverOptions == null) {
-        serverOptions = new HttpServerOptions();
-      }
-      vertx.createHttpServer(serverOptions)
-        .requestHandler(PrometheusRequestHandler.create(registry, options.getEmbeddedServerEndpoint()))
-        .exceptionHandler(t -> LOGGER.error("Error in Prometheus registry embedded server", t))
-        .listen(serverOptions.getPort(), serverOptions.getHost());
+      startEmbeddedServer(vertx);
     }
   }
 
+  @Override
+  public synchronized void vertxCreated(Vertx vertx) {
+    if (options.isStartEmbeddedServer() && options.isEmbeddedServerOnInstrumentedVertx()
+      && embeddedServerVertx == null) {
+      embeddedServerVertx = vertx;
+      // Deployed as a verticle, so that the server gets its own context and is stopped with the instance
+      vertx.deployVerticle(new VerticleBase() {
+        @Override
+        public Future<?> start() {
+          return startEmbeddedServer(vertx);
+        }
+
+        @Override
+        public Future<?> stop() {
+          // Another instance sharing this registry may start the server again
+          embeddedServerStopped(vertx);
+          return super.stop();
+        }
+      }).onFailure(t -> {
+        embeddedServerStopped(vertx);
+        LOGGER.error("Could not deploy Prometheus registry embedded server", t);
+      });
+    }
+  }
+
+  private synchronized void embeddedServerStopped(Vertx vertx) {
+    if (embeddedServerVertx == vertx) {
+      embeddedServerVertx = null;
+    }
+  }
+
+  private Future<HttpServer> startEmbeddedServer(Vertx vertx) {
+    HttpServerOptions serverOptions = options.getEmbeddedServerOptions();
+    if (serverOptions == null) {
+      serverOptions = new HttpServerOptions();
+    }
+    return vertx.createHttpServer(serverOptions)
+      .requestHandler(PrometheusRequestHandler.create(registry, options.getEmbeddedServerEndpoint(), options))
+      .exceptionHandler(t -> LOGGER.error("Error in Prometheus registry embedded server", t))
+      .listen(serverOptions.getPort(), serverOptions.getHost());
+  }
+
   @Override
   public void close() {
     if (this.vertx != null) {
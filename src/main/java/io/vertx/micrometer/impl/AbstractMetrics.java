@@ -16,15 +16,33 @@
 
 package io.vertx.micrometer.impl;
 
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.json.JsonObject;
 import io.vertx.micrometer.Label;
 import io.vertx.micrometer.MetricsDomain;
 import io.vertx.micrometer.MetricsNaming;
 import io.vertx.micrometer.impl.meters.LongGaugeBuilder;
+import io.vertx.micrometer.impl.meters.LongGaugeProvider;
 import io.vertx.micrometer.impl.meters.LongGauges;
+import io.vertx.micrometer.impl.meters.MeterCache;
+import io.vertx.micrometer.impl.tags.CardinalityLimiter;
+import io.vertx.micrometer.impl.tags.CardinalityLimits;
+import io.vertx.micrometer.impl.tags.LabelMatchers;
 
 import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
 
 /**
@@ -34,18 +52,42 @@ import java.util.function.ToDoubleFunction;
  */
 public abstract class AbstractMetrics implements MicrometerMetrics {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(AbstractMetrics.class);
+
   protected final MeterRegistry registry;
+  // Shared by all metrics, so that durations can be tracked as a primitive start time instead of a Timer.Sample
+  protected final Clock clock;
   protected final MetricsNaming names;
   private final String category;
   protected final EnumSet<Label> enabledLabels;
   private final LongGauges longGauges;
+  private final MeterCache meterCache;
+  private final CardinalityLimits cardinalityLimits;
+  private final LabelMatchers labelMatchers;
+  // MetricsNaming property names of the disabled metrics, and the corresponding names in this category
+  private final Set<String> disabledMetrics;
+  private final Set<String> disabledNames;
+  // Label matches evaluated when building tags, null when disabled or when they cannot deny meters of this category
+  private final Predicate<Iterable<Tag>> tagsFilter;
 
-  AbstractMetrics(MeterRegistry registry, MetricsNaming names, LongGauges longGauges, EnumSet<Label> enabledLabels) {
+  AbstractMetrics(MeterRegistry registry, MetricsNaming names, LongGauges longGauges, MeterCache meterCache,
+                  CardinalityLimits cardinalityLimits, LabelMatchers labelMatchers, Set<String> disabledMetrics,
+                  EnumSet<Label> enabledLabels) {
     this.registry = registry;
+    this.clock = registry.config().clock();
     this.category = null;
     this.enabledLabels = enabledLabels;
     this.names = names;
     this.longGauges = longGauges;
+    this.meterCache = meterCache;
+    this.cardinalityLimits = cardinalityLimits;
+    this.labelMatchers = labelMatchers;
+    this.tagsFilter = labelMatchers == null ? null : labelMatchers.tagsFilter(null);
+    this.disabledMetrics = disabledMetrics;
+    this.disabledNames = disabledNames(names, disabledMetrics);
+    warnUnknownMetrics(disabledMetrics);
+    meterCache.seriesAddedHandler(cardinalityLimits::seriesAdded);
+    meterCache.seriesRemovedHandler(cardinalityLimits::seriesRemoved);
   }
 
   AbstractMetrics(AbstractMetrics parent, MetricsDomain domain) {
@@ -54,10 +96,44 @@ public abstract class AbstractMetrics implements MicrometerMetrics {
 
   AbstractMetrics(AbstractMetrics parent, String category) {
     this.registry = parent.registry;
+    this.clock = parent.clock;
     this.enabledLabels = parent.enabledLabels;
     this.longGauges = parent.longGauges;
+    this.meterCache = parent.meterCache;
+    this.cardinalityLimits = parent.cardinalityLimits;
+    this.labelMatchers = parent.labelMatchers;
     this.category = category;
     this.names = parent.names.withBaseName(baseName());
+    this.tagsFilter = labelMatchers == null ? null : labelMatchers.tagsFilter(baseName());
+    this.disabledMetrics = parent.disabledMetrics;
+    this.disabledNames = disabledNames(names, disabledMetrics);
+  }
+
+  private static Set<String> disabledNames(MetricsNaming names, Set<String> disabledMetrics) {
+    if (disabledMetrics.isEmpty()) {
+      return Set.of();
+    }
+    JsonObject json = names.toJson();
+    Set<String> disabledNames = new HashSet<>();
+    for (String metric : disabledMetrics) {
+      Object name = json.getValue(metric);
+      if (name instanceof String) {
+        disabledNames.add((String) name);
+      }
+    }
+    return disabledNames;
+  }
+
+  private static void warnUnknownMetrics(Set<String> disabledMetrics) {
+    if (disabledMetrics.isEmpty()) {
+      return;
+    }
+    Set<String> known = MetricsNaming.v4Names().toJson().fieldNames();
+    for (String metric : disabledMetrics) {
+      if (!known.contains(metric)) {
+        LOGGER.warn("Ignoring unknown disabled metric '" + metric + "', expected a MetricsNaming property name");
+      }
+    }
   }
 
   /**
@@ -74,6 +150,51 @@ public abstract class AbstractMetrics implements MicrometerMetrics {
     return category == null ? null : "vertx." + category + ".";
   }
 
+  /**
+   * @return {@code false} if the metric with the given name is disabled, and should be skipped entirely
+   */
+  boolean isEnabled(String name) {
+    return !disabledNames.contains(name);
+  }
+
+  <T extends Meter> MeterProvider<T> cached(MeterProvider<T> provider) {
+    return meterCache.provider(provider, tagsFilter);
+  }
+
+  LongGaugeProvider cached(LongGaugeProvider provider) {
+    return meterCache.provider(provider, tagsFilter);
+  }
+
+  /**
+   * @return a handle to the meter resolved with the given tags, or {@code null} when the metric is disabled
+   */
+  <T extends Meter> Supplier<T> handle(MeterProvider<T> provider, Tags tags) {
+    return provider == null ? null : meterCache.handle(provider, tags);
+  }
+
+  /**
+   * @return a handle to the gauge adder resolved with the given tags, or {@code null} when the metric is disabled
+   */
+  Supplier<LongAdder> handle(LongGaugeProvider provider, Tags tags) {
+    return provider == null ? null : meterCache.handle(provider, tags);
+  }
+
+  CardinalityLimiter cardinalityLimiter(Label label) {
+    if (!enabledLabels.contains(label)) {
+      return CardinalityLimiter.UNLIMITED;
+    }
+    return cardinalityLimits.limiter(category, label, l -> {
+      if (!isEnabled(names.getLabelValuesCollapsed())) {
+        return () -> {};
+      }
+      Counter collapsed = Counter.builder(names.getLabelValuesCollapsed())
+        .description("Number of label values replaced because the label reached its cardinality limit")
+        .tag("label", l.toString())
+        .register(registry);
+      return collapsed::increment;
+    });
+  }
+
   LongGaugeBuilder longGaugeBuilder(String name, ToDoubleFunction<LongAdder> func) {
     return longGauges.builder(name, func);
   }
@@ -38,6 +38,45 @@ class HttpUtils {
     return uri.substring(i, queryStart);
   }
 
+  /**
+   * Whether an {@code Accept-Encoding} header value allows the given content coding.
+   */
+  static boolean acceptsEncoding(String acceptEncoding, String coding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    boolean wildcard = false;
+    for (String element : acceptEncoding.split(",")) {
+      int semicolon = element.indexOf(';');
+      String name = (semicolon == -1 ? element : element.substring(0, semicolon)).trim();
+      boolean accepted = semicolon == -1 || parseQuality(element.substring(semicolon + 1)) > 0;
+      if (name.equalsIgnoreCase(coding)) {
+        return accepted;
+      }
+      if (name.equals("*")) {
+        wildcard = accepted;
+      }
+    }
+    return wildcard;
+  }
+
+  /**
+   * Extract the quality value out of header element parameters, {@code 1} if absent or invalid.
+   */
+  static double parseQuality(String parameters) {
+    for (String parameter : parameters.split(";")) {
+      parameter = parameter.trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2).trim());
+        } catch (NumberFormatException e) {
+          return 1;
+        }
+      }
+    }
+    return 1;
+  }
+
   private HttpUtils() {
     // Utility
   }
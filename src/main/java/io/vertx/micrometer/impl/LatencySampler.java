@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2011-2023 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.micrometer.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Selects the requests whose latency is recorded, one in {@code n} on average.
+ * <p>
+ * The selection is random, without any state shared between threads. When sampling, the ratio of recorded requests is
+ * exposed by a gauge, named by {@link io.vertx.micrometer.MetricsNaming#getHttpResponseTimeSamplingRatio()}.
+ */
+class LatencySampler {
+
+  static final LatencySampler ALL = new LatencySampler(1);
+
+  private final int n;
+
+  LatencySampler(int n) {
+    this.n = Math.max(n, 1);
+  }
+
+  /**
+   * @return whether the latency of the current request should be recorded
+   */
+  boolean sample() {
+    return n == 1 || ThreadLocalRandom.current().nextInt(n) == 0;
+  }
+
+  double ratio() {
+    return 1d / n;
+  }
+
+  /**
+   * Register the sampling ratio gauge, if requests are sampled.
+   */
+  void register(MeterRegistry registry, String gaugeName) {
+    if (n > 1) {
+      Gauge.builder(gaugeName, this::ratio)
+        .description("Ratio of requests whose time is recorded")
+        .register(registry);
+    }
+  }
+}
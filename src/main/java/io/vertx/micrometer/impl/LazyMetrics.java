@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2011-2023 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.micrometer.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.core.spi.metrics.*;
+import io.vertx.core.spi.observability.HttpRequest;
+import io.vertx.core.spi.observability.HttpResponse;
+
+import java.util.function.Supplier;
+
+/**
+ * Metrics created only once the registry reports to a backend.
+ * <p>
+ * An empty {@link CompositeMeterRegistry}, like the global registry used when no backend is configured, drops all
+ * measurements. Until a registry is added to it, these metrics neither build tags nor look up meters, and the
+ * measurement objects they return are {@code null}. Afterwards, they delegate to metrics created on first use.
+ * Measurements started before, like connections or event bus handlers, are not reported.
+ *
+ * @param <M> the type of the delegate metrics
+ */
+abstract class LazyMetrics<M> {
+
+  /**
+   * @return true if measurements recorded in the registry are not reported to any backend
+   */
+  static boolean isInactive(MeterRegistry registry) {
+    return registry instanceof CompositeMeterRegistry && ((CompositeMeterRegistry) registry).getRegistries().isEmpty();
+  }
+
+  private final CompositeMeterRegistry registry;
+  private final Supplier<M> factory;
+  private volatile M delegate;
+
+  LazyMetrics(MeterRegistry registry, Supplier<M> factory) {
+    this.registry = (CompositeMeterRegistry) registry;
+    this.factory = factory;
+  }
+
+  /**
+   * @return the delegate metrics, or {@code null} while the registry is inactive
+   */
+  M delegate() {
+    M metrics = delegate;
+    if (metrics == null && !registry.getRegistries().isEmpty()) {
+      synchronized (this) {
+        metrics = delegate;
+        if (metrics == null) {
+          metrics = factory.get();
+          created(metrics);
+          delegate = metrics;
+        }
+      }
+    }
+    return metrics;
+  }
+
+  void created(M metrics) {
+  }
+
+  static class EventBus<H> extends LazyMetrics<EventBusMetrics<H>> implements EventBusMetrics<H> {
+
+    EventBus(MeterRegistry registry, Supplier<EventBusMetrics<H>> factory) {
+      super(registry, factory);
+    }
+
+    @Override
+    public H handlerRegistered(String address) {
+      EventBusMetrics<H> metrics = delegate();
+      return metrics != null ? metrics.handlerRegistered(address) : null;
+    }
+
+    @Override
+    public void handlerUnregistered(H handler) {
+      EventBusMetrics<H> metrics = delegate();
+      if (metrics != null && handler != null) {
+        metrics.handlerUnregistered(handler);
+      }
+    }
+
+    @Override
+    public void messageDelivered(H handler, boolean local) {
+      EventBusMetrics<H> metrics = delegate();
+      if (metrics != null && handler != null) {
+        metrics.messageDelivered(handler, local);
+      }
+    }
+
+    @Override
+    public void discardMessage(H handler, boolean local, Message<?> msg) {
+      EventBusMetrics<H> metrics = delegate();
+      if (metrics != null && handler != null) {
+        metrics.discardMessage(handler, local, msg);
+      }
+    }
+
+    @Override
+    public void messageSent(String address, boolean publish, boolean local, boolean remote) {
+      EventBusMetrics<H> metrics = delegate();
+      if (metrics != null) {
+        metrics.messageSent(address, publish, local, remote);
+      }
+    }
+
+    @Override
+    public void messageReceived(String address, boolean publish, boolean local, int handlers) {
+      EventBusMetrics<H> metrics = delegate();
+      if (metrics != null) {
+        metrics.messageReceived(address, publish, local, handlers);
+      }
+    }
+
+    @Override
+    public void messageWritten(String address, int numberOfBytes) {
+      EventBusMetrics<H> metrics = delegate();
+      if (metrics != null) {
+        metrics.messageWritten(address, numberOfBytes);
+      }
+    }
+
+    @Override
+    public void messageRead(String address, int numberOfBytes) {
+      EventBusMetrics<H> metrics = delegate();
+      if (metrics != null) {
+        metrics.messageRead(address, numberOfBytes);
+      }
+    }
+
+    @Override
+    public void replyFailure(String address, ReplyFailure failure) {
+      EventBusMetrics<H> metrics = delegate();
+      if (metrics != null) {
+        metrics.replyFailure(address, failure);
+      }
+    }
+  }
+
+  static class HttpServer<R, W> extends LazyMetrics<HttpServerMetrics<R, W>> implements HttpServerMetrics<R, W> {
+
+    HttpServer(MeterRegistry registry, Supplier<HttpServerMetrics<R, W>> factory) {
+      super(registry, factory);
+    }
+
+    @Override
+    public R requestBegin(SocketAddress remoteAddress, HttpRequest request) {
+      HttpServerMetrics<R, W> metrics = delegate();
+      return metrics != null ? metrics.requestBegin(remoteAddress, request) : null;
+    }
+
+    @Override
+    public void requestReset(R requestMetric) {
+      HttpServerMetrics<R, W> metrics = delegate();
+      if (metrics != null && requestMetric != null) {
+        metrics.requestReset(requestMetric);
+      }
+    }
+
+    @Override
+    public void requestEnd(R requestMetric, HttpRequest request, long bytesRead) {
+      HttpServerMetrics<R, W> metrics = delegate();
+      if (metrics != null && requestMetric != null) {
+        metrics.requestEnd(requestMetric, request, bytesRead);
+      }
+    }
+
+    @Override
+    public R responsePushed(SocketAddress remoteAddress, HttpMethod method, String uri, HttpResponse response) {
+      HttpServerMetrics<R, W> metrics = delegate();
+      return metrics != null ? metrics.responsePushed(remoteAddress, method, uri, response) : null;
+    }
+
+    @Override
+    public void responseEnd(R requestMetric, HttpResponse response, long bytesWritten) {
+      HttpServerMetrics<R, W> metrics = delegate();
+      if (metrics != null && requestMetric != null) {
+        metrics.responseEnd(requestMetric, response, bytesWritten);
+      }
+    }
+
+    @Override
+    public W connected(HttpRequest request) {
+      HttpServerMetrics<R, W> metrics = delegate();
+      return metrics != null ? metrics.connected(request) : null;
+    }
+
+    @Override
+    public void disconnected(W webSocketMetric) {
+      HttpServerMetrics<R, W> metrics = delegate();
+      if (metrics != null && webSocketMetric != null) {
+        metrics.disconnected(webSocketMetric);
+      }
+    }
+
+    @Override
+    public void requestRouted(R requestMetric, String route) {
+      HttpServerMetrics<R, W> metrics = delegate();
+      if (metrics != null && requestMetric != null) {
+        metrics.requestRouted(requestMetric, route);
+      }
+    }
+  }
+
+  static class HttpClient<R, W> extends LazyMetrics<HttpClientMetrics<R, W>> implements HttpClientMetrics<R, W> {
+
+    private final MeterRegistry registry;
+
+    HttpClient(MeterRegistry registry, Supplier<HttpClientMetrics<R, W>> factory) {
+      super(registry, factory);
+      this.registry = registry;
+    }
+
+    @Override
+    public ClientMetrics<R, HttpRequest, HttpResponse> createEndpointMetrics(SocketAddress remoteAddress, int maxPoolSize) {
+      HttpClientMetrics<R, W> metrics = delegate();
+      if (metrics != null) {
+        return metrics.createEndpointMetrics(remoteAddress, maxPoolSize);
+      }
+      return new Client<>(registry, () -> delegate().createEndpointMetrics(remoteAddress, maxPoolSize));
+    }
+
+    @Override
+    public W connected(HttpRequest request) {
+      HttpClientMetrics<R, W> metrics = delegate();
+      return metrics != null ? metrics.connected(request) : null;
+    }
+
+    @Override
+    public void disconnected(W webSocketMetric) {
+      HttpClientMetrics<R, W> metrics = delegate();
+      if (metrics != null && webSocketMetric != null) {
+        metrics.disconnected(webSocketMetric);
+      }
+    }
+  }
+
+  static class Client<R, Req, Resp> extends LazyMetrics<ClientMetrics<R, Req, Resp>> implements ClientMetrics<R, Req, Resp> {
+
+    Client(MeterRegistry registry, Supplier<ClientMetrics<R, Req, Resp>> factory) {
+      super(registry, factory);
+    }
+
+    @Override
+    public R init() {
+      ClientMetrics<R, Req, Resp> metrics = delegate();
+      return metrics != null ? metrics.init() : null;
+    }
+
+    @Override
+    public void requestBegin(R requestMetric, String uri, Req request) {
+      ClientMetrics<R, Req, Resp> metrics = delegate();
+      if (metrics != null && requestMetric != null) {
+        metrics.requestBegin(requestMetric, uri, request);
+      }
+    }
+
+    @Override
+    public void requestEnd(R requestMetric, long bytesWritten) {
+      ClientMetrics<R, Req, Resp> metrics = delegate();
+      if (metrics != null && requestMetric != null) {
+        metrics.requestEnd(requestMetric, bytesWritten);
+      }
+    }
+
+    @Override
+    public void requestEnd(R requestMetric) {
+      ClientMetrics<R, Req, Resp> metrics = delegate();
+      if (metrics != null && requestMetric != null) {
+        metrics.requestEnd(requestMetric);
+      }
+    }
+
+    @Override
+    public void requestReset(R requestMetric) {
+      ClientMetrics<R, Req, Resp> metrics = delegate();
+      if (metrics != null && requestMetric != null) {
+        metrics.requestReset(requestMetric);
+      }
+    }
+
+    @Override
+    public void responseBegin(R requestMetric, Resp response) {
+      ClientMetrics<R, Req, Resp> metrics = delegate();
+      if (metrics != null && requestMetric != null) {
+        metrics.responseBegin(requestMetric, response);
+      }
+    }
+
+    @Override
+    public void responseEnd(R requestMetric, long bytesRead) {
+      ClientMetrics<R, Req, Resp> metrics = delegate();
+      if (metrics != null && requestMetric != null) {
+        metrics.responseEnd(requestMetric, bytesRead);
+      }
+    }
+
+    @Override
+    public void responseEnd(R requestMetric) {
+      ClientMetrics<R, Req, Resp> metrics = delegate();
+      if (metrics != null && requestMetric != null) {
+        metrics.responseEnd(requestMetric);
+      }
+    }
+  }
+
+  static class Transport<C> extends LazyMetrics<TransportMetrics<C>> implements TransportMetrics<C> {
+
+    Transport(MeterRegistry registry, Supplier<TransportMetrics<C>> factory) {
+      super(registry, factory);
+    }
+
+    @Override
+    public C connected(SocketAddress remoteAddress, String remoteName) {
+      TransportMetrics<C> metrics = delegate();
+      return metrics != null ? metrics.connected(remoteAddress, remoteName) : null;
+    }
+
+    @Override
+    public void disconnected(C socketMetric, SocketAddress remoteAddress) {
+      TransportMetrics<C> metrics = delegate();
+      if (metrics != null && socketMetric != null) {
+        metrics.disconnected(socketMetric, remoteAddress);
+      }
+    }
+
+    @Override
+    public void bytesRead(C socketMetric, SocketAddress remoteAddress, long numberOfBytes) {
+      TransportMetrics<C> metrics = delegate();
+      if (metrics != null && socketMetric != null) {
+        metrics.bytesRead(socketMetric, remoteAddress, numberOfBytes);
+      }
+    }
+
+    @Override
+    public void bytesWritten(C socketMetric, SocketAddress remoteAddress, long numberOfBytes) {
+      TransportMetrics<C> metrics = delegate();
+      if (metrics != null && socketMetric != null) {
+        metrics.bytesWritten(socketMetric, remoteAddress, numberOfBytes);
+      }
+    }
+
+    @Override
+    public void exceptionOccurred(C socketMetric, SocketAddress remoteAddress, Throwable t) {
+      TransportMetrics<C> metrics = delegate();
+      if (metrics != null && socketMetric != null) {
+        metrics.exceptionOccurred(socketMetric, remoteAddress, t);
+      }
+    }
+  }
+
+  static class DatagramSocket extends LazyMetrics<DatagramSocketMetrics> implements DatagramSocketMetrics {
+
+    private volatile String localName;
+    private volatile SocketAddress localAddress;
+
+    DatagramSocket(MeterRegistry registry, Supplier<DatagramSocketMetrics> factory) {
+      super(registry, factory);
+    }
+
+    @Override
+    void created(DatagramSocketMetrics metrics) {
+      if (localAddress != null) {
+        metrics.listening(localName, localAddress);
+      }
+    }
+
+    @Override
+    public void listening(String localName, SocketAddress localAddress) {
+      // Replayed when the delegate is created
+      this.localName = localName;
+      this.localAddress = localAddress;
+      DatagramSocketMetrics metrics = delegate();
+      if (metrics != null) {
+        metrics.listening(localName, localAddress);
+      }
+    }
+
+    // Datagram sockets have no socket metric
+    @Override
+    public void bytesRead(Void socketMetric, SocketAddress remoteAddress, long numberOfBytes) {
+      DatagramSocketMetrics metrics = delegate();
+      if (metrics != null) {
+        metrics.bytesRead(socketMetric, remoteAddress, numberOfBytes);
+      }
+    }
+
+    @Override
+    public void bytesWritten(Void socketMetric, SocketAddress remoteAddress, long numberOfBytes) {
+      DatagramSocketMetrics metrics = delegate();
+      if (metrics != null) {
+        metrics.bytesWritten(socketMetric, remoteAddress, numberOfBytes);
+      }
+    }
+
+    @Override
+    public void exceptionOccurred(Void socketMetric, SocketAddress remoteAddress, Throwable t) {
+      DatagramSocketMetrics metrics = delegate();
+      if (metrics != null) {
+        metrics.exceptionOccurred(socketMetric, remoteAddress, t);
+      }
+    }
+  }
+
+  static class Pool<Q, T> extends LazyMetrics<PoolMetrics<Q, T>> implements PoolMetrics<Q, T> {
+
+    Pool(MeterRegistry registry, Supplier<PoolMetrics<Q, T>> factory) {
+      super(registry, factory);
+    }
+
+    @Override
+    public Q enqueue() {
+      PoolMetrics<Q, T> metrics = delegate();
+      return metrics != null ? metrics.enqueue() : null;
+    }
+
+    @Override
+    public void dequeue(Q queueMetric) {
+      PoolMetrics<Q, T> metrics = delegate();
+      if (metrics != null && queueMetric != null) {
+        metrics.dequeue(queueMetric);
+      }
+    }
+
+    @Override
+    public T begin() {
+      PoolMetrics<Q, T> metrics = delegate();
+      return metrics != null ? metrics.begin() : null;
+    }
+
+    @Override
+    public void end(T usageMetric) {
+      PoolMetrics<Q, T> metrics = delegate();
+      if (metrics != null && usageMetric != null) {
+        metrics.end(usageMetric);
+      }
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2023 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.micrometer.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.Tags;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bytes read and written by the open connections, added to the shared counters in batches.
+ * <p>
+ * A connection is confined to its event loop, which accumulates its bytes in plain fields, without atomic operations.
+ * The batches are flushed periodically, and when their connection is closed.
+ */
+class NetBytesBatches {
+
+  private final Set<Batch> batches = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @return a new batch for a connection, to be {@link #close(Batch) closed} when it is disconnected
+   */
+  Batch open(MeterProvider<Counter> bytesRead, MeterProvider<Counter> bytesWritten, Tags tags) {
+    Batch batch = new Batch(bytesRead, bytesWritten, tags);
+    batches.add(batch);
+    return batch;
+  }
+
+  void close(Batch batch) {
+    batches.remove(batch);
+    batch.flush();
+  }
+
+  void flush() {
+    for (Batch batch : batches) {
+      batch.flush();
+    }
+  }
+
+  static class Batch {
+
+    private static final VarHandle READ;
+    private static final VarHandle WRITTEN;
+
+    static {
+      try {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        READ = lookup.findVarHandle(Batch.class, "read", long.class);
+        WRITTEN = lookup.findVarHandle(Batch.class, "written", long.class);
+      } catch (ReflectiveOperationException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+
+    private final MeterProvider<Counter> bytesRead;
+    private final MeterProvider<Counter> bytesWritten;
+    private final Tags tags;
+
+    // Totals, only written by the connection event loop
+    private long read;
+    private long written;
+    // Totals already added to the counters, guarded by this
+    private long flushedRead;
+    private long flushedWritten;
+
+    private Batch(MeterProvider<Counter> bytesRead, MeterProvider<Counter> bytesWritten, Tags tags) {
+      this.bytesRead = bytesRead;
+      this.bytesWritten = bytesWritten;
+      this.tags = tags;
+    }
+
+    void bytesRead(long numberOfBytes) {
+      READ.setOpaque(this, read + numberOfBytes);
+    }
+
+    void bytesWritten(long numberOfBytes) {
+      WRITTEN.setOpaque(this, written + numberOfBytes);
+    }
+
+    synchronized void flush() {
+      long r = (long) READ.getOpaque(this);
+      if (r != flushedRead && bytesRead != null) {
+        bytesRead.withTags(tags).increment(r - flushedRead);
+        flushedRead = r;
+      }
+      long w = (long) WRITTEN.getOpaque(this);
+      if (w != flushedWritten && bytesWritten != null) {
+        bytesWritten.withTags(tags).increment(w - flushedWritten);
+        flushedWritten = w;
+      }
+    }
+  }
+}
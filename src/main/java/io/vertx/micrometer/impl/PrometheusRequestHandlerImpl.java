@@ -19,8 +19,8 @@ package io.vertx.micrometer.impl;
 import io.micrometer.prometheusmetrics.PrometheusConfig;
 import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
 import io.vertx.core.Handler;
-import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerRequest;
+import io.vertx.micrometer.VertxPrometheusOptions;
 
 /**
  * Handler to expose Prometheus metrics via an HTTP endpoint.
@@ -34,16 +34,29 @@ public class PrometheusRequestHandlerImpl implements Handler<HttpServerRequest>
 
   private final PrometheusMeterRegistry registry;
   private final String metricsEndpoint;
+  private final PrometheusScraper scraper;
 
   /**
-   * Constructs a handler with the specified registry and metrics endpoint.
+   * Constructs a handler with the specified registry, metrics endpoint and options.
    *
    * @param registry        the PrometheusMeterRegistry to use for scraping metrics
    * @param metricsEndpoint the endpoint to expose metrics
+   * @param options         the Prometheus options, driving how the scrape response is rendered
    */
-  public PrometheusRequestHandlerImpl(PrometheusMeterRegistry registry, String metricsEndpoint) {
+  public PrometheusRequestHandlerImpl(PrometheusMeterRegistry registry, String metricsEndpoint, VertxPrometheusOptions options) {
     this.registry = registry;
     this.metricsEndpoint = metricsEndpoint;
+    this.scraper = new PrometheusScraper(options);
+  }
+
+  /**
+   * Constructs a handler with the specified registry and metrics endpoint.
+   *
+   * @param registry        the PrometheusMeterRegistry to use for scraping metrics
+   * @param metricsEndpoint the endpoint to expose metrics
+   */
+  public PrometheusRequestHandlerImpl(PrometheusMeterRegistry registry, String metricsEndpoint) {
+    this(registry, metricsEndpoint, new VertxPrometheusOptions());
   }
 
   /**
@@ -52,24 +65,20 @@ public class PrometheusRequestHandlerImpl implements Handler<HttpServerRequest>
    * @param registry the PrometheusMeterRegistry to use for scraping metrics
    */
   public PrometheusRequestHandlerImpl(PrometheusMeterRegistry registry) {
-    this.registry = registry;
-    this.metricsEndpoint = "/metrics";
+    this(registry, "/metrics");
   }
 
   /**
    * Constructs a handler with a new PrometheusMeterRegistry and the default metrics endpoint ("/metrics").
    */
   public PrometheusRequestHandlerImpl() {
-    this.registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
-    this.metricsEndpoint = "/metrics";
+    this(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
   }
 
   @Override
   public void handle(HttpServerRequest request) {
     if (metricsEndpoint.equals(request.path())) {
-      request.response()
-        .putHeader(HttpHeaders.CONTENT_TYPE, "text/plain; version=0.0.4; charset=utf-8")
-        .end(registry.scrape());
+      scraper.scrape(registry, request);
     } else {
       request.response().setStatusCode(404).end();
     }
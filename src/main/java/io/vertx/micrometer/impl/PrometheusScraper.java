@@ -0,0 +1,375 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertx.micrometer.impl;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.vertx.core.Closeable;
+import io.vertx.core.Completable;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.internal.VertxInternal;
+import io.prometheus.metrics.expositionformats.ExpositionFormatWriter;
+import io.prometheus.metrics.expositionformats.ExpositionFormats;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import io.vertx.micrometer.VertxPrometheusOptions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+
+import static io.vertx.core.http.HttpHeaders.*;
+
+/**
+ * Renders the content of a {@link PrometheusMeterRegistry} into an HTTP response, as configured by
+ * {@link VertxPrometheusOptions}.
+ */
+class PrometheusScraper {
+
+  static final String TEXT_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private static final String WORKER_POOL_NAME = "vertx-micrometer-prometheus-scrape";
+  private static final String GZIP = "gzip";
+  private static final String NAME_PARAM = "name[]";
+  private static final ExpositionFormats EXPOSITION_FORMATS = ExpositionFormats.init();
+  // Scrapes waiting for a worker, beyond the ones being rendered, before new scrapes are rejected
+  private static final int MAX_QUEUED_SCRAPES = 4;
+
+  private final boolean streaming;
+  private final int workerPoolSize;
+  private final long cacheTtlNanos;
+  private final boolean compression;
+  private final int compressionLevel;
+  private final boolean formatNegotiation;
+  private final ScrapeNameFilter nameFilter;
+  private final ConcurrentMap<String, CachedScrape> cache = new ConcurrentHashMap<>();
+  private final int maxPendingScrapes;
+  private final AtomicInteger pendingScrapes = new AtomicInteger();
+
+  private ScrapeWorkerExecutor workerExecutor;
+
+  PrometheusScraper(VertxPrometheusOptions options) {
+    streaming = options.isScrapeStreamingEnabled();
+    workerPoolSize = options.getScrapeWorkerPoolSize();
+    cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(options.getScrapeCacheTtl());
+    compression = options.isScrapeCompressionEnabled();
+    compressionLevel = options.getScrapeCompressionLevel();
+    formatNegotiation = options.isScrapeFormatNegotiationEnabled();
+    nameFilter = new ScrapeNameFilter(options.getScrapeIncludedPrefixes(), options.getScrapeExcludedPrefixes());
+    maxPendingScrapes = Math.max(workerPoolSize, 1) + MAX_QUEUED_SCRAPES;
+  }
+
+  void scrape(PrometheusMeterRegistry registry, HttpServerRequest request) {
+    HttpServerResponse response = request.response();
+    String contentType = TEXT_CONTENT_TYPE;
+    if (formatNegotiation) {
+      response.putHeader(VARY, ACCEPT);
+      contentType = negotiateContentType(request.getHeader(ACCEPT));
+    }
+    response.putHeader(CONTENT_TYPE, contentType);
+    boolean gzip = false;
+    if (compression) {
+      response.headers().add(VARY, ACCEPT_ENCODING);
+      if (HttpUtils.acceptsEncoding(request.getHeader(ACCEPT_ENCODING), GZIP)) {
+        // Also prevents the server from compressing the response again
+        response.putHeader(CONTENT_ENCODING, GZIP);
+        gzip = true;
+      }
+    }
+    List<String> requestedNames = request.params().getAll(NAME_PARAM);
+    Predicate<String> names = nameFilter.predicate(requestedNames);
+    Context context = Vertx.currentContext();
+    Future<Buffer> body;
+    // Scrapes of specific names are not worth caching. Without a time to live, concurrent scrapes rendered on the
+    // worker pool still share the rendering.
+    if ((cacheTtlNanos > 0 || (workerPoolSize > 0 && context != null && !streaming)) && requestedNames.isEmpty()) {
+      CachedScrape cached = cached(registry, contentType, names, context);
+      body = gzip ? cached.gzipped(rendered -> execute(context, () -> compress(rendered))) : cached.body.future();
+    } else if (streaming) {
+      stream(registry, contentType, names, response, context, gzip);
+      return;
+    } else {
+      String format = contentType;
+      boolean compressed = gzip;
+      body = execute(context, () -> render(registry, format, names, compressed));
+    }
+    body.onComplete(ar -> runOnContext(context, () -> {
+      if (ar.succeeded()) {
+        response.end(ar.result());
+      } else {
+        fail(response, ar.cause());
+      }
+    }));
+  }
+
+  /**
+   * Selects the exposition format from the {@code Accept} request header, falling back to the Prometheus text format.
+   */
+  private static String negotiateContentType(String accept) {
+    if (accept == null) {
+      return TEXT_CONTENT_TYPE;
+    }
+    ExpositionFormatWriter writer = EXPOSITION_FORMATS.findWriter(accept);
+    return writer.isAvailable() ? writer.getContentType() : TEXT_CONTENT_TYPE;
+  }
+
+  private CachedScrape cached(PrometheusMeterRegistry registry, String contentType, Predicate<String> names, Context context) {
+    while (true) {
+      CachedScrape current = cache.get(contentType);
+      if (current != null && current.registry == registry && !current.isExpired(cacheTtlNanos)) {
+        return current;
+      }
+      CachedScrape next = new CachedScrape(registry);
+      boolean installed = current == null ? cache.putIfAbsent(contentType, next) == null : cache.replace(contentType, current, next);
+      if (installed) {
+        execute(context, () -> render(registry, contentType, names, false)).onComplete(ar -> {
+          if (ar.succeeded() && cacheTtlNanos > 0) {
+            next.renderedAt = System.nanoTime();
+            next.rendered = true;
+          } else {
+            cache.remove(contentType, next);
+          }
+          next.body.handle(ar);
+        });
+        return next;
+      }
+    }
+  }
+
+  private Buffer render(PrometheusMeterRegistry registry, String contentType, Predicate<String> names, boolean gzip) throws IOException {
+    Buffer buffer = Buffer.buffer();
+    try (OutputStream out = gzip ? gzip(new BufferOutputStream(buffer)) : new BufferOutputStream(buffer)) {
+      write(registry, contentType, names, out);
+    }
+    return buffer;
+  }
+
+  private Buffer compress(Buffer rendered) throws IOException {
+    Buffer buffer = Buffer.buffer();
+    try (OutputStream out = gzip(new BufferOutputStream(buffer))) {
+      out.write(rendered.getBytes());
+    }
+    return buffer;
+  }
+
+  private void stream(PrometheusMeterRegistry registry, String contentType, Predicate<String> names, HttpServerResponse response, Context context, boolean gzip) {
+    response.setChunked(true);
+    Callable<Void> task = () -> {
+      streamTo(registry, contentType, names, response, gzip);
+      return null;
+    };
+    WorkerExecutor executor = workerExecutor(context);
+    Future<Void> streamed;
+    if (executor != null) {
+      streamed = executeBlocking(executor::executeBlocking, task);
+    } else if (context != null) {
+      // Rendering pauses while the response write queue is full, which is not possible on the event loop
+      streamed = executeBlocking(context::executeBlocking, task);
+    } else {
+      try {
+        streamed = Future.succeededFuture(task.call());
+      } catch (Exception e) {
+        streamed = Future.failedFuture(e);
+      }
+    }
+    streamed.onComplete(ar -> runOnContext(context, () -> {
+      if (ar.succeeded()) {
+        response.end();
+      } else {
+        fail(response, ar.cause());
+      }
+    }));
+  }
+
+  private void streamTo(PrometheusMeterRegistry registry, String contentType, Predicate<String> names, HttpServerResponse response, boolean gzip) throws IOException {
+    OutputStream out = new ResponseOutputStream(response, ResponseOutputStream.DEFAULT_CHUNK_SIZE);
+    try (OutputStream os = gzip ? gzip(out) : out) {
+      write(registry, contentType, names, os);
+    }
+  }
+
+  private static void write(PrometheusMeterRegistry registry, String contentType, Predicate<String> names, OutputStream out) throws IOException {
+    if (names == null) {
+      registry.scrape(out, contentType);
+    } else {
+      MetricSnapshots snapshots = registry.getPrometheusRegistry().scrape(names);
+      EXPOSITION_FORMATS.findWriter(contentType).write(out, snapshots);
+    }
+  }
+
+  private OutputStream gzip(OutputStream out) throws IOException {
+    return new GZIPOutputStream(out, ResponseOutputStream.DEFAULT_CHUNK_SIZE) {
+      {
+        def.setLevel(compressionLevel);
+      }
+    };
+  }
+
+  /**
+   * Runs the task on the scrape worker pool if configured, or on the calling thread otherwise.
+   */
+  private <T> Future<T> execute(Context context, Callable<T> task) {
+    WorkerExecutor executor = workerExecutor(context);
+    if (executor == null) {
+      try {
+        return Future.succeededFuture(task.call());
+      } catch (Exception e) {
+        return Future.failedFuture(e);
+      }
+    }
+    return executeBlocking(executor::executeBlocking, task);
+  }
+
+  /**
+   * Runs the task on a worker thread, unless too many scrapes are already pending.
+   */
+  private <T> Future<T> executeBlocking(BiFunction<Callable<T>, Boolean, Future<T>> executor, Callable<T> task) {
+    if (pendingScrapes.incrementAndGet() > maxPendingScrapes) {
+      pendingScrapes.decrementAndGet();
+      return Future.failedFuture(new RejectedExecutionException("Too many pending scrapes"));
+    }
+    return executor.apply(task, false).andThen(ar -> pendingScrapes.decrementAndGet());
+  }
+
+  private synchronized WorkerExecutor workerExecutor(Context context) {
+    if (workerPoolSize <= 0 || context == null) {
+      return null;
+    }
+    Vertx owner = context.owner();
+    if (workerExecutor == null || workerExecutor.owner != owner) {
+      if (workerExecutor != null) {
+        workerExecutor.close();
+      }
+      WorkerExecutor executor = owner.createSharedWorkerExecutor(WORKER_POOL_NAME, workerPoolSize);
+      workerExecutor = new ScrapeWorkerExecutor(owner, executor);
+    }
+    return workerExecutor.executor;
+  }
+
+  private synchronized void workerExecutorClosed(ScrapeWorkerExecutor closed) {
+    if (workerExecutor == closed) {
+      workerExecutor = null;
+    }
+  }
+
+  private static void runOnContext(Context context, Runnable action) {
+    if (context == null || context == Vertx.currentContext()) {
+      action.run();
+    } else {
+      context.runOnContext(v -> action.run());
+    }
+  }
+
+  private static void fail(HttpServerResponse response, Throwable cause) {
+    if (!response.headWritten()) {
+      response.headers().remove(CONTENT_ENCODING);
+      response.setStatusCode(cause instanceof RejectedExecutionException ? 503 : 500).end();
+    } else {
+      // The body is truncated, make sure the scraper does not take it for a complete one
+      response.close();
+    }
+  }
+
+  /**
+   * The scrape worker executor of a Vert.x instance, closed when the instance is closed or when scrapes are handled by
+   * another instance.
+   */
+  private class ScrapeWorkerExecutor implements Closeable {
+
+    final Vertx owner;
+    final WorkerExecutor executor;
+
+    ScrapeWorkerExecutor(Vertx owner, WorkerExecutor executor) {
+      this.owner = owner;
+      this.executor = executor;
+      ((VertxInternal) owner).addCloseHook(this);
+    }
+
+    void close() {
+      ((VertxInternal) owner).removeCloseHook(this);
+      executor.close();
+    }
+
+    @Override
+    public void close(Completable<Void> completion) {
+      workerExecutorClosed(this);
+      executor.close().onComplete(ar -> completion.complete(ar.result(), ar.cause()));
+    }
+  }
+
+  private static class CachedScrape {
+
+    final PrometheusMeterRegistry registry;
+    final Promise<Buffer> body = Promise.promise();
+    volatile long renderedAt;
+    volatile boolean rendered;
+    Future<Buffer> gzipped;
+
+    CachedScrape(PrometheusMeterRegistry registry) {
+      this.registry = registry;
+    }
+
+    boolean isExpired(long ttlNanos) {
+      // A scrape being rendered never expires, so that concurrent requests wait for it
+      return rendered && System.nanoTime() - renderedAt >= ttlNanos;
+    }
+
+    /**
+     * @return the compressed body, computed at most once
+     */
+    synchronized Future<Buffer> gzipped(Function<Buffer, Future<Buffer>> compressor) {
+      if (gzipped == null) {
+        gzipped = body.future().compose(compressor);
+      }
+      return gzipped;
+    }
+  }
+
+  private static class BufferOutputStream extends OutputStream {
+
+    final Buffer buffer;
+
+    BufferOutputStream(Buffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) {
+      buffer.appendByte((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      buffer.appendBytes(b, off, len);
+    }
+  }
+}
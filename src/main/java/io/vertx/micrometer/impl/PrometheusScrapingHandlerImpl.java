@@ -20,10 +20,10 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
 import io.vertx.core.Handler;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.micrometer.VertxPrometheusOptions;
 import io.vertx.micrometer.backends.BackendRegistries;
 
 import java.util.Objects;
-import static io.vertx.core.http.HttpHeaders.*;
 
 /**
  * @author Thomas Segismont
@@ -32,20 +32,36 @@ public class PrometheusScrapingHandlerImpl implements Handler<RoutingContext> {
 
   private final String registryName;
   private final PrometheusMeterRegistry registry;
+  private final PrometheusScraper scraper;
 
   public PrometheusScrapingHandlerImpl() {
+    this(new VertxPrometheusOptions());
+  }
+
+  public PrometheusScrapingHandlerImpl(VertxPrometheusOptions options) {
     registryName = null;
     registry = null;
+    scraper = new PrometheusScraper(options);
   }
 
   public PrometheusScrapingHandlerImpl(String registryName) {
+    this(registryName, new VertxPrometheusOptions());
+  }
+
+  public PrometheusScrapingHandlerImpl(String registryName, VertxPrometheusOptions options) {
     this.registryName = Objects.requireNonNull(registryName);
     registry = null;
+    scraper = new PrometheusScraper(options);
   }
 
   public PrometheusScrapingHandlerImpl(PrometheusMeterRegistry registry) {
+    this(registry, new VertxPrometheusOptions());
+  }
+
+  public PrometheusScrapingHandlerImpl(PrometheusMeterRegistry registry, VertxPrometheusOptions options) {
     registryName = null;
     this.registry = Objects.requireNonNull(registry);
+    scraper = new PrometheusScraper(options);
   }
 
   @Override
@@ -70,9 +86,7 @@ public class PrometheusScrapingHandlerImpl implements Handler<RoutingContext> {
     }
   }
 
-  private static void scrapeAndReply(RoutingContext rc, PrometheusMeterRegistry prometheusMeterRegistry) {
-    rc.response()
-      .putHeader(CONTENT_TYPE, "text/plain; version=0.0.4; charset=utf-8")
-      .end(prometheusMeterRegistry.scrape());
+  private void scrapeAndReply(RoutingContext rc, PrometheusMeterRegistry prometheusMeterRegistry) {
+    scraper.scrape(prometheusMeterRegistry, rc.request());
   }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertx.micrometer.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * An {@link OutputStream} writing to an {@link HttpServerResponse} in chunks of bounded size.
+ * <p>
+ * Writers are blocked while the response write queue is full, until it is drained or the connection is closed, so it
+ * must be used from a worker thread. On an event loop thread, where blocking is not an option, chunks are written as
+ * they fill up.
+ */
+class ResponseOutputStream extends OutputStream {
+
+  static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+  private static final long CLOSED_CHECK_INTERVAL_MS = 1000;
+
+  private final HttpServerResponse response;
+  private final byte[] buf;
+  private int count;
+
+  ResponseOutputStream(HttpServerResponse response, int chunkSize) {
+    this.response = response;
+    this.buf = new byte[chunkSize];
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    if (count == buf.length) {
+      flushBuffer();
+    }
+    buf[count++] = (byte) b;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    while (len > 0) {
+      if (count == buf.length) {
+        flushBuffer();
+      }
+      int n = Math.min(len, buf.length - count);
+      System.arraycopy(b, off, buf, count, n);
+      count += n;
+      off += n;
+      len -= n;
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    flushBuffer();
+  }
+
+  @Override
+  public void close() throws IOException {
+    flushBuffer();
+  }
+
+  private void flushBuffer() throws IOException {
+    if (count == 0) {
+      return;
+    }
+    if (response.closed()) {
+      throw new IOException("Connection closed");
+    }
+    response.write(Buffer.buffer(count).appendBytes(buf, 0, count));
+    count = 0;
+    if (!Context.isOnEventLoopThread() && response.writeQueueFull()) {
+      awaitDrain();
+    }
+  }
+
+  private void awaitDrain() throws IOException {
+    CompletableFuture<Void> drained = new CompletableFuture<>();
+    response.drainHandler(v -> drained.complete(null));
+    try {
+      // The queue may have been drained before the handler was set
+      if (!response.writeQueueFull()) {
+        return;
+      }
+      while (!drained.isDone()) {
+        if (response.closed()) {
+          throw new IOException("Connection closed");
+        }
+        try {
+          drained.get(CLOSED_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ignore) {
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    } finally {
+      response.drainHandler(null);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertx.micrometer.impl;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Selects the metric families rendered by a scrape, from configured name prefixes and requested names.
+ * <p>
+ * Names are Prometheus metric family names. Requested names may also carry a sample suffix, e.g. {@code _total} or
+ * {@code _bucket}, as they appear in the exposition.
+ */
+class ScrapeNameFilter {
+
+  private static final String[] SAMPLE_SUFFIXES = {"_total", "_created", "_bucket", "_count", "_sum", "_info"};
+
+  private final String[] includedPrefixes;
+  private final String[] excludedPrefixes;
+
+  ScrapeNameFilter(List<String> includedPrefixes, List<String> excludedPrefixes) {
+    this.includedPrefixes = includedPrefixes.toArray(new String[0]);
+    this.excludedPrefixes = excludedPrefixes.toArray(new String[0]);
+  }
+
+  /**
+   * @param requestedNames the names requested by the scraper, all names if empty
+   * @return the predicate on metric family names, or {@code null} if all families are selected
+   */
+  Predicate<String> predicate(List<String> requestedNames) {
+    if (requestedNames.isEmpty()) {
+      if (includedPrefixes.length == 0 && excludedPrefixes.length == 0) {
+        return null;
+      }
+      return this::isAllowed;
+    }
+    Set<String> requested = new HashSet<>(requestedNames);
+    return name -> isRequested(requested, name) && isAllowed(name);
+  }
+
+  private boolean isAllowed(String name) {
+    if (includedPrefixes.length > 0 && !startsWithAny(name, includedPrefixes)) {
+      return false;
+    }
+    return !startsWithAny(name, excludedPrefixes);
+  }
+
+  private static boolean isRequested(Set<String> requested, String name) {
+    if (requested.contains(name)) {
+      return true;
+    }
+    for (String suffix : SAMPLE_SUFFIXES) {
+      if (requested.contains(name + suffix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean startsWithAny(String name, String[] prefixes) {
+    for (String prefix : prefixes) {
+      if (name.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
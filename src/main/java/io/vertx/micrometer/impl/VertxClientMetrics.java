@@ -19,11 +19,11 @@ package io.vertx.micrometer.impl;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
-import io.micrometer.core.instrument.Timer.Sample;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.spi.metrics.ClientMetrics;
 import io.vertx.micrometer.impl.tags.Labels;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 
 import static io.vertx.micrometer.Label.NAMESPACE;
@@ -42,27 +42,28 @@ class VertxClientMetrics extends AbstractMetrics implements ClientMetrics<VertxC
     super(parent, type);
     Tags tags = Tags.empty();
     if (enabledLabels.contains(REMOTE)) {
-      tags = tags.and(REMOTE.toString(), Labels.address(remoteAddress));
+      tags = tags.and(REMOTE.toString(), cardinalityLimiter(REMOTE).apply(Labels.address(remoteAddress)));
     }
     if (enabledLabels.contains(NAMESPACE) && namespace != null && !namespace.isBlank()) {
       tags = tags.and(NAMESPACE.toString(), namespace);
     }
-    processingTime = Timer.builder(names.getClientProcessingTime())
+    processingTime = isEnabled(names.getClientProcessingTime()) ? Timer.builder(names.getClientProcessingTime())
       .description("Processing time, from request start to response end")
       .tags(tags)
-      .register(registry);
-    processingPending = longGaugeBuilder(names.getClientProcessingPending(), LongAdder::doubleValue)
+      .register(registry) : null;
+    processingPending = isEnabled(names.getClientProcessingPending()) ? longGaugeBuilder(names.getClientProcessingPending(), LongAdder::doubleValue)
       .description("Number of elements being processed")
       .tags(tags)
-      .register(registry);
-    resetCount = Counter.builder(names.getClientResetsCount())
+      .register(registry) : null;
+    resetCount = isEnabled(names.getClientResetsCount()) ? Counter.builder(names.getClientResetsCount())
       .description("Total number of resets")
       .tags(tags)
-      .register(registry);
+      .register(registry) : null;
   }
 
   static class RequestMetric {
-    Sample sample;
+    // Monotonic start time, in nanoseconds
+    long start;
   }
 
   @Override
@@ -73,8 +74,10 @@ class VertxClientMetrics extends AbstractMetrics implements ClientMetrics<VertxC
   @Override
   public void requestBegin(RequestMetric requestMetric, String uri, Object request) {
     // Ignore parameters at the moment; need to carefully figure out what can be labelled or not
-    processingPending.increment();
-    requestMetric.sample = Timer.start();
+    if (processingPending != null) {
+      processingPending.increment();
+    }
+    requestMetric.start = clock.monotonicTime();
   }
 
   @Override
@@ -89,14 +92,23 @@ class VertxClientMetrics extends AbstractMetrics implements ClientMetrics<VertxC
 
   @Override
   public void requestReset(RequestMetric requestMetric) {
-    processingPending.decrement();
-    requestMetric.sample.stop(processingTime);
-    resetCount.increment();
+    requestDone(requestMetric);
+    if (resetCount != null) {
+      resetCount.increment();
+    }
   }
 
   @Override
   public void responseEnd(RequestMetric requestMetric) {
-    processingPending.decrement();
-    requestMetric.sample.stop(processingTime);
+    requestDone(requestMetric);
+  }
+
+  private void requestDone(RequestMetric requestMetric) {
+    if (processingPending != null) {
+      processingPending.decrement();
+    }
+    if (processingTime != null) {
+      processingTime.record(clock.monotonicTime() - requestMetric.start, TimeUnit.NANOSECONDS);
+    }
   }
 }
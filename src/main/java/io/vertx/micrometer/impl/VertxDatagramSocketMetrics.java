@@ -39,16 +39,19 @@ class VertxDatagramSocketMetrics extends AbstractMetrics implements DatagramSock
 
   VertxDatagramSocketMetrics(AbstractMetrics parent) {
     super(parent, DATAGRAM_SOCKET);
-    bytesWritten = DistributionSummary.builder(names.getDatagramBytesWritten())
+    bytesWritten = isEnabled(names.getDatagramBytesWritten()) ? DistributionSummary.builder(names.getDatagramBytesWritten())
       .description("Total number of datagram bytes sent")
-      .register(registry);
-    errorCount = Counter.builder(names.getDatagramErrorCount())
+      .register(registry) : null;
+    errorCount = isEnabled(names.getDatagramErrorCount()) ? cached(Counter.builder(names.getDatagramErrorCount())
       .description("Total number of datagram errors")
-      .withRegistry(registry);
+      .withRegistry(registry)) : null;
   }
 
   @Override
   public void listening(String localName, SocketAddress localAddress) {
+    if (!isEnabled(names.getDatagramBytesRead())) {
+      return;
+    }
     Tags tags;
     if (enabledLabels.contains(LOCAL)) {
       tags = Tags.of(LOCAL.toString(), Labels.address(localAddress, localName));
@@ -70,11 +73,16 @@ class VertxDatagramSocketMetrics extends AbstractMetrics implements DatagramSock
 
   @Override
   public void bytesWritten(Void socketMetric, SocketAddress remoteAddress, long numberOfBytes) {
-    bytesWritten.record(numberOfBytes);
+    if (bytesWritten != null) {
+      bytesWritten.record(numberOfBytes);
+    }
   }
 
   @Override
   public void exceptionOccurred(Void socketMetric, SocketAddress remoteAddress, Throwable t) {
+    if (errorCount == null) {
+      return;
+    }
     Tags tags;
     if (enabledLabels.contains(CLASS_NAME)) {
       tags = Tags.of(CLASS_NAME.toString(), t.getClass().getSimpleName());
@@ -23,9 +23,12 @@ import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.ReplyFailure;
 import io.vertx.core.spi.metrics.EventBusMetrics;
 import io.vertx.micrometer.impl.VertxEventBusMetrics.HandlerMetric;
+import io.vertx.micrometer.impl.meters.LongGaugeProvider;
+import io.vertx.micrometer.impl.tags.CardinalityLimiter;
 import io.vertx.micrometer.impl.tags.Labels;
 
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import static io.vertx.micrometer.Label.*;
 import static io.vertx.micrometer.MetricsDomain.EVENT_BUS;
@@ -35,6 +38,7 @@ import static io.vertx.micrometer.MetricsDomain.EVENT_BUS;
  */
 class VertxEventBusMetrics extends AbstractMetrics implements EventBusMetrics<HandlerMetric> {
 
+  private final CardinalityLimiter addressLimiter;
   private final MeterProvider<Counter> ebPublished;
   private final MeterProvider<Counter> ebSent;
   private final MeterProvider<Counter> ebReceived;
@@ -42,30 +46,47 @@ class VertxEventBusMetrics extends AbstractMetrics implements EventBusMetrics<Ha
   private final MeterProvider<DistributionSummary> ebBytesWritten;
   private final MeterProvider<DistributionSummary> ebBytesRead;
   private final MeterProvider<Counter> ebReplyFailures;
+  private final MeterProvider<Counter> ebProcessed;
+  private final MeterProvider<Counter> ebDiscarded;
+  private final LongGaugeProvider ebPending;
+  private final LongGaugeProvider ebHandlers;
 
   VertxEventBusMetrics(AbstractMetrics parent) {
     super(parent, EVENT_BUS);
-    ebPublished = Counter.builder(names.getEbPublished())
+    addressLimiter = cardinalityLimiter(EB_ADDRESS);
+    ebPublished = isEnabled(names.getEbPublished()) ? cached(Counter.builder(names.getEbPublished())
       .description("Number of messages published (publish / subscribe)")
-      .withRegistry(registry);
-    ebSent = Counter.builder(names.getEbSent())
+      .withRegistry(registry)) : null;
+    ebSent = isEnabled(names.getEbSent()) ? cached(Counter.builder(names.getEbSent())
       .description("Number of messages sent (point-to-point)")
-      .withRegistry(registry);
-    ebReceived = Counter.builder(names.getEbReceived())
+      .withRegistry(registry)) : null;
+    ebReceived = isEnabled(names.getEbReceived()) ? cached(Counter.builder(names.getEbReceived())
       .description("Number of messages received")
-      .withRegistry(registry);
-    ebDelivered = Counter.builder(names.getEbDelivered())
+      .withRegistry(registry)) : null;
+    ebDelivered = isEnabled(names.getEbDelivered()) ? cached(Counter.builder(names.getEbDelivered())
       .description("Number of messages delivered to handlers")
-      .withRegistry(registry);
-    ebBytesWritten = DistributionSummary.builder(names.getEbBytesWritten())
+      .withRegistry(registry)) : null;
+    ebBytesWritten = isEnabled(names.getEbBytesWritten()) ? cached(DistributionSummary.builder(names.getEbBytesWritten())
       .description("Number of bytes sent while sending messages to event bus cluster peers")
-      .withRegistry(registry);
-    ebBytesRead = DistributionSummary.builder(names.getEbBytesRead())
+      .withRegistry(registry)) : null;
+    ebBytesRead = isEnabled(names.getEbBytesRead()) ? cached(DistributionSummary.builder(names.getEbBytesRead())
       .description("Number of bytes received while reading messages from event bus cluster peers")
-      .withRegistry(registry);
-    ebReplyFailures = Counter.builder(names.getEbReplyFailures())
+      .withRegistry(registry)) : null;
+    ebReplyFailures = isEnabled(names.getEbReplyFailures()) ? cached(Counter.builder(names.getEbReplyFailures())
       .description("Number of message reply failures")
-      .withRegistry(registry);
+      .withRegistry(registry)) : null;
+    ebProcessed = isEnabled(names.getEbProcessed()) ? cached(Counter.builder(names.getEbProcessed())
+      .description("Number of processed messages")
+      .withRegistry(registry)) : null;
+    ebDiscarded = isEnabled(names.getEbDiscarded()) ? cached(Counter.builder(names.getEbDiscarded())
+      .description("Number of discarded messages")
+      .withRegistry(registry)) : null;
+    ebPending = isEnabled(names.getEbPending()) ? cached(longGaugeBuilder(names.getEbPending(), LongAdder::doubleValue)
+      .description("Number of messages not processed yet")
+      .withRegistry(registry)) : null;
+    ebHandlers = isEnabled(names.getEbHandlers()) ? cached(longGaugeBuilder(names.getEbHandlers(), LongAdder::doubleValue)
+      .description("Number of event bus handlers in use")
+      .withRegistry(registry)) : null;
   }
 
   private static boolean isNotInternal(String address) {
@@ -76,7 +97,9 @@ class VertxEventBusMetrics extends AbstractMetrics implements EventBusMetrics<Ha
   public HandlerMetric handlerRegistered(String address) {
     if (isNotInternal(address)) {
       HandlerMetric handlerMetric = new HandlerMetric(address);
-      handlerMetric.handlers.increment();
+      if (handlerMetric.handlers != null) {
+        handlerMetric.handlers.increment();
+      }
       return handlerMetric;
     }
     return null;
@@ -84,7 +107,7 @@ class VertxEventBusMetrics extends AbstractMetrics implements EventBusMetrics<Ha
 
   @Override
   public void handlerUnregistered(HandlerMetric handlerMetric) {
-    if (handlerMetric != null) {
+    if (handlerMetric != null && handlerMetric.handlers != null) {
       handlerMetric.handlers.decrement();
     }
   }
@@ -92,12 +115,12 @@ class VertxEventBusMetrics extends AbstractMetrics implements EventBusMetrics<Ha
   @Override
   public void messageDelivered(HandlerMetric handlerMetric, boolean local) {
     if (handlerMetric != null) {
-      if (local) {
-        handlerMetric.ebPendingLocal.decrement();
-        handlerMetric.ebProcessedLocal.increment();
-      } else {
-        handlerMetric.ebPendingRemote.decrement();
-        handlerMetric.ebProcessedRemote.increment();
+      HandlerMeters meters = handlerMetric.meters(local);
+      if (meters.pending != null) {
+        meters.pending.get().decrement();
+      }
+      if (meters.processed != null) {
+        meters.processed.get().increment();
       }
     }
   }
@@ -105,32 +128,28 @@ class VertxEventBusMetrics extends AbstractMetrics implements EventBusMetrics<Ha
   @Override
   public void discardMessage(HandlerMetric handlerMetric, boolean local, Message<?> msg) {
     if (handlerMetric != null) {
-      if (local) {
-        handlerMetric.ebPendingLocal.decrement();
-        handlerMetric.ebDiscardedLocal.increment();
-      } else {
-        handlerMetric.ebPendingRemote.decrement();
-        handlerMetric.ebDiscardedRemote.increment();
+      HandlerMeters meters = handlerMetric.meters(local);
+      if (meters.pending != null) {
+        meters.pending.get().decrement();
+      }
+      if (meters.discarded != null) {
+        meters.discarded.get().increment();
       }
     }
   }
 
   @Override
   public void messageSent(String address, boolean publish, boolean local, boolean remote) {
-    if (isNotInternal(address)) {
-      Tags tags = addressAndSide(address, local);
-      if (publish) {
-        ebPublished.withTags(tags).increment();
-      } else {
-        ebSent.withTags(tags).increment();
-      }
+    MeterProvider<Counter> counter = publish ? ebPublished : ebSent;
+    if (counter != null && isNotInternal(address)) {
+      counter.withTags(addressAndSide(address, local)).increment();
     }
   }
 
   private Tags addressAndSide(String address, boolean local) {
     Tags tags = Tags.empty();
     if (enabledLabels.contains(EB_ADDRESS)) {
-      tags = tags.and(EB_ADDRESS.toString(), address);
+      tags = tags.and(EB_ADDRESS.toString(), addressLimiter.apply(address));
     }
     if (enabledLabels.contains(EB_SIDE)) {
       tags = tags.and(Labels.side(local));
@@ -140,23 +159,25 @@ class VertxEventBusMetrics extends AbstractMetrics implements EventBusMetrics<Ha
 
   @Override
   public void messageReceived(String address, boolean publish, boolean local, int handlers) {
-    if (isNotInternal(address)) {
+    if (isNotInternal(address) && (ebReceived != null || (handlers > 0 && (ebPending != null || ebDelivered != null)))) {
       Tags tags = addressAndSide(address, local);
-      ebReceived.withTags(tags).increment();
+      if (ebReceived != null) {
+        ebReceived.withTags(tags).increment();
+      }
       if (handlers > 0) {
-        longGaugeBuilder(names.getEbPending(), LongAdder::doubleValue)
-          .description("Number of messages not processed yet")
-          .tags(tags)
-          .register(registry)
-          .add(handlers);
-        ebDelivered.withTags(tags).increment();
+        if (ebPending != null) {
+          ebPending.withTags(tags).add(handlers);
+        }
+        if (ebDelivered != null) {
+          ebDelivered.withTags(tags).increment();
+        }
       }
     }
   }
 
   @Override
   public void messageWritten(String address, int numberOfBytes) {
-    if (isNotInternal(address)) {
+    if (ebBytesWritten != null && isNotInternal(address)) {
       Tags tags = address(address);
       ebBytesWritten.withTags(tags).record(numberOfBytes);
     }
@@ -165,14 +186,14 @@ class VertxEventBusMetrics extends AbstractMetrics implements EventBusMetrics<Ha
   private Tags address(String address) {
     Tags tags = Tags.empty();
     if (enabledLabels.contains(EB_ADDRESS)) {
-      tags = tags.and(EB_ADDRESS.toString(), address);
+      tags = tags.and(EB_ADDRESS.toString(), addressLimiter.apply(address));
     }
     return tags;
   }
 
   @Override
   public void messageRead(String address, int numberOfBytes) {
-    if (isNotInternal(address)) {
+    if (ebBytesRead != null && isNotInternal(address)) {
       Tags tags = address(address);
       ebBytesRead.withTags(tags).record(numberOfBytes);
     }
@@ -180,7 +201,7 @@ class VertxEventBusMetrics extends AbstractMetrics implements EventBusMetrics<Ha
 
   @Override
   public void replyFailure(String address, ReplyFailure failure) {
-    if (isNotInternal(address)) {
+    if (ebReplyFailures != null && isNotInternal(address)) {
       Tags tags = addressAndFailure(address, failure);
       ebReplyFailures.withTags(tags).increment();
     }
@@ -189,7 +210,7 @@ class VertxEventBusMetrics extends AbstractMetrics implements EventBusMetrics<Ha
   private Tags addressAndFailure(String address, ReplyFailure replyFailure) {
     Tags tags = Tags.empty();
     if (enabledLabels.contains(EB_ADDRESS)) {
-      tags = tags.and(EB_ADDRESS.toString(), address);
+      tags = tags.and(EB_ADDRESS.toString(), addressLimiter.apply(address));
     }
     if (enabledLabels.contains(EB_FAILURE)) {
       tags = tags.and(EB_FAILURE.toString(), replyFailure.name());
@@ -200,51 +221,40 @@ class VertxEventBusMetrics extends AbstractMetrics implements EventBusMetrics<Ha
   class HandlerMetric {
 
     final LongAdder handlers;
-    final LongAdder ebPendingLocal;
-    final Counter ebProcessedLocal;
-    final LongAdder ebPendingRemote;
-    final Counter ebProcessedRemote;
-    final Counter ebDiscardedLocal;
-    final Counter ebDiscardedRemote;
+    final HandlerMeters local;
+    final HandlerMeters remote;
 
     HandlerMetric(String address) {
       Tags tags = Tags.empty();
       if (enabledLabels.contains(EB_ADDRESS)) {
-        tags = tags.and(EB_ADDRESS.toString(), address);
+        tags = tags.and(EB_ADDRESS.toString(), addressLimiter.apply(address));
       }
-      handlers = longGaugeBuilder(names.getEbHandlers(), LongAdder::doubleValue)
-        .description("Number of event bus handlers in use")
-        .tags(tags)
-        .register(registry);
-      Tags localTags = tags, remoteTags = tags;
+      handlers = ebHandlers != null ? ebHandlers.withTags(tags) : null;
       if (enabledLabels.contains(EB_SIDE)) {
-        localTags = tags.and(Labels.side(true));
-        remoteTags = tags.and(Labels.side(false));
+        local = new HandlerMeters(tags.and(Labels.side(true)));
+        remote = new HandlerMeters(tags.and(Labels.side(false)));
+      } else {
+        local = new HandlerMeters(tags);
+        remote = local;
       }
-      ebPendingLocal = longGaugeBuilder(names.getEbPending(), LongAdder::doubleValue)
-        .description("Number of messages not processed yet")
-        .tags(localTags)
-        .register(registry);
-      ebProcessedLocal = Counter.builder(names.getEbProcessed())
-        .description("Number of processed messages")
-        .tags(localTags)
-        .register(registry);
-      ebDiscardedLocal = Counter.builder(names.getEbDiscarded())
-        .description("Number of discarded messages")
-        .tags(localTags)
-        .register(registry);
-      ebPendingRemote = longGaugeBuilder(names.getEbPending(), LongAdder::doubleValue)
-        .description("Number of messages not processed yet")
-        .tags(remoteTags)
-        .register(registry);
-      ebProcessedRemote = Counter.builder(names.getEbProcessed())
-        .description("Number of processed messages")
-        .tags(remoteTags)
-        .register(registry);
-      ebDiscardedRemote = Counter.builder(names.getEbDiscarded())
-        .description("Number of discarded messages")
-        .tags(remoteTags)
-        .register(registry);
+    }
+
+    HandlerMeters meters(boolean local) {
+      return local ? this.local : remote;
+    }
+  }
+
+  class HandlerMeters {
+
+    // Held as handles, so that the meters are registered again if idle series expiry removed them
+    final Supplier<LongAdder> pending;
+    final Supplier<Counter> processed;
+    final Supplier<Counter> discarded;
+
+    HandlerMeters(Tags tags) {
+      pending = handle(ebPending, tags);
+      processed = handle(ebProcessed, tags);
+      discarded = handle(ebDiscarded, tags);
     }
   }
 }
@@ -18,15 +18,18 @@ package io.vertx.micrometer.impl;
 
 import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.Meter.MeterProvider;
-import io.micrometer.core.instrument.Timer.Sample;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.spi.metrics.ClientMetrics;
 import io.vertx.core.spi.metrics.HttpClientMetrics;
 import io.vertx.core.spi.observability.HttpRequest;
 import io.vertx.core.spi.observability.HttpResponse;
 import io.vertx.micrometer.impl.VertxHttpClientMetrics.RequestMetric;
+import io.vertx.micrometer.impl.meters.LongGaugeProvider;
+import io.vertx.micrometer.impl.tags.CardinalityLimiter;
 import io.vertx.micrometer.impl.tags.Labels;
+import io.vertx.micrometer.impl.tags.PathTemplates;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
@@ -40,13 +43,22 @@ class VertxHttpClientMetrics extends AbstractMetrics implements HttpClientMetric
 
   private final Tags local;
   private final Function<HttpRequest, Iterable<Tag>> customTagsProvider;
+  private final PathTemplates pathTemplates;
+  private final boolean codeClassEnabled;
+  private final LatencySampler responseTimeSampler;
+  private final CardinalityLimiter remoteLimiter;
+  private final CardinalityLimiter pathLimiter;
   private final MeterProvider<Counter> requestCount;
   private final MeterProvider<DistributionSummary> requestBytes;
   private final MeterProvider<Timer> responseTime;
   private final MeterProvider<Counter> responseCount;
   private final MeterProvider<DistributionSummary> responseBytes;
+  private final LongGaugeProvider activeRequests;
+  private final LongGaugeProvider activeWsConnections;
 
-  VertxHttpClientMetrics(AbstractMetrics parent, String metricsName, Function<HttpRequest, Iterable<Tag>> customTagsProvider, String localAddress) {
+  VertxHttpClientMetrics(AbstractMetrics parent, String metricsName, Function<HttpRequest, Iterable<Tag>> customTagsProvider,
+                         PathTemplates pathTemplates, boolean codeClassEnabled, LatencySampler responseTimeSampler,
+                         String localAddress) {
     super(parent, HTTP_CLIENT);
     Tags base;
     if (enabledLabels.contains(CLIENT_NAME) && metricsName != null && !metricsName.isBlank()) {
@@ -60,49 +72,73 @@ class VertxHttpClientMetrics extends AbstractMetrics implements HttpClientMetric
       local = base;
     }
     this.customTagsProvider = customTagsProvider;
-    requestCount = Counter.builder(names.getHttpRequestsCount())
+    this.pathTemplates = pathTemplates;
+    this.codeClassEnabled = codeClassEnabled;
+    this.responseTimeSampler = responseTimeSampler;
+    remoteLimiter = cardinalityLimiter(REMOTE);
+    pathLimiter = cardinalityLimiter(HTTP_PATH);
+    requestCount = isEnabled(names.getHttpRequestsCount()) ? cached(Counter.builder(names.getHttpRequestsCount())
       .description("Number of requests sent")
-      .withRegistry(registry);
-    requestBytes = DistributionSummary.builder(names.getHttpRequestBytes())
+      .withRegistry(registry)) : null;
+    requestBytes = isEnabled(names.getHttpRequestBytes()) ? cached(DistributionSummary.builder(names.getHttpRequestBytes())
       .description("Size of requests in bytes")
-      .withRegistry(registry);
-    responseTime = Timer.builder(names.getHttpResponseTime())
+      .withRegistry(registry)) : null;
+    responseTime = isEnabled(names.getHttpResponseTime()) ? cached(Timer.builder(names.getHttpResponseTime())
       .description("Response time")
-      .withRegistry(registry);
-    responseCount = Counter.builder(names.getHttpResponsesCount())
+      .withRegistry(registry)) : null;
+    if (responseTime != null && isEnabled(names.getHttpResponseTimeSamplingRatio())) {
+      responseTimeSampler.register(registry, names.getHttpResponseTimeSamplingRatio());
+    }
+    responseCount = isEnabled(names.getHttpResponsesCount()) ? cached(Counter.builder(names.getHttpResponsesCount())
       .description("Response count with codes")
-      .withRegistry(registry);
-    responseBytes = DistributionSummary.builder(names.getHttpResponseBytes())
+      .withRegistry(registry)) : null;
+    responseBytes = isEnabled(names.getHttpResponseBytes()) ? cached(DistributionSummary.builder(names.getHttpResponseBytes())
       .description("Size of responses in bytes")
-      .withRegistry(registry);
+      .withRegistry(registry)) : null;
+    activeRequests = isEnabled(names.getHttpActiveRequests()) ? cached(longGaugeBuilder(names.getHttpActiveRequests(), LongAdder::doubleValue)
+      .description("Number of requests waiting for a response")
+      .withRegistry(registry)) : null;
+    activeWsConnections = isEnabled(names.getHttpActiveWsConnections()) ? cached(longGaugeBuilder(names.getHttpActiveWsConnections(), LongAdder::doubleValue)
+      .description("Number of websockets currently opened")
+      .withRegistry(registry)) : null;
   }
 
   @Override
   public ClientMetrics<RequestMetric, HttpRequest, HttpResponse> createEndpointMetrics(SocketAddress remoteAddress, int maxPoolSize) {
     Tags endPointTags = local;
     if (enabledLabels.contains(REMOTE)) {
-      endPointTags = endPointTags.and(REMOTE.toString(), Labels.address(remoteAddress));
+      endPointTags = endPointTags.and(REMOTE.toString(), remoteLimiter.apply(Labels.address(remoteAddress)));
     }
     return new EndpointMetrics(endPointTags);
   }
 
+  private String path(String uri) {
+    String path = HttpUtils.parsePath(uri);
+    if (pathTemplates != null) {
+      path = pathTemplates.apply(path);
+    }
+    return pathLimiter.apply(path);
+  }
+
   @Override
   public LongAdder connected(HttpRequest request) {
+    if (activeWsConnections == null) {
+      return null;
+    }
     Tags tags = local;
     if (enabledLabels.contains(REMOTE)) {
-      tags = tags.and(REMOTE.toString(), Labels.address(request.remoteAddress()));
+      tags = tags.and(REMOTE.toString(), remoteLimiter.apply(Labels.address(request.remoteAddress())));
     }
-    LongAdder wsConnections = longGaugeBuilder(names.getHttpActiveWsConnections(), LongAdder::doubleValue)
-      .description("Number of websockets currently opened")
-      .tags(tags)
-      .register(registry);
+    LongAdder wsConnections = activeWsConnections.withTags(tags);
     wsConnections.increment();
     return wsConnections;
   }
 
   @Override
   public void disconnected(LongAdder wsConnections) {
-    wsConnections.decrement();
+    if (wsConnections != null) {
+      wsConnections.decrement();
+    }
   }
 
   class EndpointMetrics implements ClientMetrics<RequestMetric, HttpRequest, HttpResponse> {
@@ -122,10 +158,10 @@ class VertxHttpClientMetrics extends AbstractMetrics implements HttpClientMetric
     public void requestBegin(RequestMetric requestMetric, String uri, HttpRequest request) {
       Tags tags = endPointTags;
       if (enabledLabels.contains(HTTP_PATH)) {
-        tags = tags.and(HTTP_PATH.toString(), HttpUtils.parsePath(request.uri()));
+        tags = tags.and(HTTP_PATH.toString(), path(request.uri()));
       }
       if (enabledLabels.contains(HTTP_METHOD)) {
-        tags = tags.and(HTTP_METHOD.toString(), request.method().toString());
+        tags = tags.and(Labels.method(request.method()));
       }
       if (enabledLabels.contains(HTTP_VERSION) && request.version() != null) {
         tags = tags.and(HTTP_VERSION.toString(), VertxHttpServerMetrics.versions.get(request.version()));
@@ -134,21 +170,25 @@ class VertxHttpClientMetrics extends AbstractMetrics implements HttpClientMetric
         tags = tags.and(customTagsProvider.apply(request));
       }
       requestMetric.init(tags);
-      requestMetric.requests.increment();
-      requestCount.withTags(tags).increment();
+      requestMetric.activeRequests(1);
+      if (requestCount != null) {
+        requestCount.withTags(tags).increment();
+      }
     }
 
     @Override
     public void requestEnd(RequestMetric requestMetric, long bytesWritten) {
-      requestBytes.withTags(requestMetric.tags).record(bytesWritten);
+      if (requestBytes != null) {
+        requestBytes.withTags(requestMetric.tags).record(bytesWritten);
+      }
       if (requestMetric.requestEnded()) {
-        requestMetric.requests.decrement();
+        requestMetric.activeRequests(-1);
       }
     }
 
     @Override
     public void requestReset(RequestMetric requestMetric) {
-      requestMetric.requests.decrement();
+      requestMetric.activeRequests(-1);
       requestMetric.requestReset();
     }
 
@@ -160,11 +200,17 @@ class VertxHttpClientMetrics extends AbstractMetrics implements HttpClientMetric
     @Override
     public void responseEnd(RequestMetric requestMetric, long bytesRead) {
       if (requestMetric.responseEnded()) {
-        requestMetric.requests.decrement();
+        requestMetric.activeRequests(-1);
+      }
+      if (responseCount != null) {
+        responseCount.withTags(requestMetric.responseTags).increment();
+      }
+      if (responseTime != null && requestMetric.sampled) {
+        responseTime.withTags(requestMetric.responseTags).record(clock.monotonicTime() - requestMetric.start, TimeUnit.NANOSECONDS);
+      }
+      if (responseBytes != null) {
+        responseBytes.withTags(requestMetric.responseTags).record(bytesRead);
       }
-      responseCount.withTags(requestMetric.responseTags).increment();
-      requestMetric.sample.stop(responseTime.withTags(requestMetric.responseTags));
-      responseBytes.withTags(requestMetric.responseTags).record(bytesRead);
     }
 
   }
@@ -172,11 +218,12 @@ class VertxHttpClientMetrics extends AbstractMetrics implements HttpClientMetric
   class RequestMetric {
 
     Tags tags;
-
+    Tags responseTags;
     LongAdder requests;
-    Sample sample;
 
-    Tags responseTags;
+    // Monotonic start time, in nanoseconds, only set when the response time is sampled
+    long start;
+    boolean sampled;
     boolean responseEnded;
     boolean requestEnded;
     boolean reset;
@@ -184,11 +231,15 @@ class VertxHttpClientMetrics extends AbstractMetrics implements HttpClientMetric
     void init(Tags tags) {
       this.tags = tags;
       responseTags = tags;
-      requests = longGaugeBuilder(names.getHttpActiveRequests(), LongAdder::doubleValue)
-        .description("Number of requests waiting for a response")
-        .tags(tags)
-        .register(registry);
-      sample = Timer.start();
+      requests = activeRequests != null ? activeRequests.withTags(tags) : null;
+      sampled = responseTime != null && responseTimeSampler.sample();
+      start = sampled ? clock.monotonicTime() : 0L;
+    }
+
+    void activeRequests(int delta) {
+      if (requests != null) {
+        requests.add(delta);
+      }
     }
 
     void requestReset() {
@@ -202,7 +253,7 @@ class VertxHttpClientMetrics extends AbstractMetrics implements HttpClientMetric
 
     void responseBegin(HttpResponse response) {
       if (enabledLabels.contains(HTTP_CODE)) {
-        responseTags = responseTags.and(HTTP_CODE.toString(), String.valueOf(response.statusCode()));
+        responseTags = responseTags.and(Labels.statusCode(response.statusCode(), codeClassEnabled));
       }
     }
 
@@ -18,18 +18,24 @@ package io.vertx.micrometer.impl;
 import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.Meter.MeterProvider;
 import io.micrometer.core.instrument.Timer;
-import io.micrometer.core.instrument.Timer.Sample;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpVersion;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.spi.metrics.HttpServerMetrics;
 import io.vertx.core.spi.observability.HttpRequest;
 import io.vertx.core.spi.observability.HttpResponse;
+import io.vertx.micrometer.impl.meters.LongGaugeProvider;
+import io.vertx.micrometer.impl.tags.AddressTagCache;
+import io.vertx.micrometer.impl.tags.CardinalityLimiter;
 import io.vertx.micrometer.impl.tags.Labels;
+import io.vertx.micrometer.impl.tags.PathTemplates;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static io.vertx.micrometer.Label.*;
 import static io.vertx.micrometer.MetricsDomain.HTTP_SERVER;
@@ -48,17 +54,41 @@ class VertxHttpServerMetrics extends AbstractMetrics implements HttpServerMetric
     versions.put(HttpVersion.HTTP_3, "HTTP/3");
   }
 
+  private static final Map<HttpMethod, Integer> METHOD_INDEXES = new HashMap<>();
+
+  static {
+    for (HttpMethod method : HttpMethod.values()) {
+      METHOD_INDEXES.put(method, METHOD_INDEXES.size());
+    }
+  }
+
+  private static final int VERSION_SLOTS = HttpVersion.values().length + 1;
+  private static final int MIN_STATUS_CODE = 100;
+  private static final int MAX_STATUS_CODE = 599;
+
   private final Tags tcpLocal;
   private final Tags udpLocal;
   private final Function<HttpRequest, Iterable<Tag>> customTagsProvider;
+  private final PathTemplates pathTemplates;
+  private final boolean codeClassEnabled;
+  private final LatencySampler responseTimeSampler;
+  private final CardinalityLimiter remoteLimiter;
+  // Remote tags memoized per connection, null when the remote label is disabled
+  private final AddressTagCache remoteTags;
+  private final CardinalityLimiter pathLimiter;
   private final MeterProvider<Counter> requestResetCount;
   private final MeterProvider<DistributionSummary> requestBytes;
   private final MeterProvider<Counter> httpRequestsCount;
   private final MeterProvider<Timer> httpResponseTime;
   private final MeterProvider<DistributionSummary> httpResponseBytes;
+  private final LongGaugeProvider httpActiveRequests;
+  private final LongGaugeProvider httpActiveWsConnections;
+  // Interned request meters, indexed by local address, method and version; null when high-cardinality labels are enabled
+  private final AtomicReferenceArray<RequestMeters> requestMetersTable;
 
-  VertxHttpServerMetrics(AbstractMetrics parent, Function<HttpRequest, Iterable<Tag>> customTagsProvider,
-                         String metricsName, SocketAddress tcpLocalAddress, SocketAddress udpLocalAddress) {
+  VertxHttpServerMetrics(AbstractMetrics parent, Function<HttpRequest, Iterable<Tag>> customTagsProvider, PathTemplates pathTemplates,
+                         boolean codeClassEnabled, LatencySampler responseTimeSampler, String metricsName,
+                         SocketAddress tcpLocalAddress, SocketAddress udpLocalAddress) {
     super(parent, HTTP_SERVER);
     Tags base;
     if (enabledLabels.contains(SERVER_NAME) && metricsName != null && !metricsName.isBlank()) {
@@ -74,39 +104,103 @@ class VertxHttpServerMetrics extends AbstractMetrics implements HttpServerMetric
       udpLocal = base;
     }
     this.customTagsProvider = customTagsProvider;
-    requestResetCount = Counter.builder(names.getHttpRequestResetsCount())
+    this.pathTemplates = pathTemplates;
+    this.codeClassEnabled = codeClassEnabled;
+    this.responseTimeSampler = responseTimeSampler;
+    remoteLimiter = cardinalityLimiter(REMOTE);
+    remoteTags = enabledLabels.contains(REMOTE) ? new AddressTagCache(this::remoteTag) : null;
+    pathLimiter = cardinalityLimiter(HTTP_PATH);
+    requestResetCount = isEnabled(names.getHttpRequestResetsCount()) ? cached(Counter.builder(names.getHttpRequestResetsCount())
       .description("Number of request resets")
-      .withRegistry(registry);
-    requestBytes = DistributionSummary.builder(names.getHttpRequestBytes())
+      .withRegistry(registry)) : null;
+    requestBytes = isEnabled(names.getHttpRequestBytes()) ? cached(DistributionSummary.builder(names.getHttpRequestBytes())
       .description("Size of requests in bytes")
-      .withRegistry(registry);
-    httpRequestsCount = Counter.builder(names.getHttpRequestsCount())
+      .withRegistry(registry)) : null;
+    httpRequestsCount = isEnabled(names.getHttpRequestsCount()) ? cached(Counter.builder(names.getHttpRequestsCount())
       .description("Number of processed requests")
-      .withRegistry(registry);
-    httpResponseTime = Timer.builder(names.getHttpResponseTime())
+      .withRegistry(registry)) : null;
+    httpResponseTime = isEnabled(names.getHttpResponseTime()) ? cached(Timer.builder(names.getHttpResponseTime())
       .description("Request processing time")
-      .withRegistry(registry);
-    httpResponseBytes = DistributionSummary.builder(names.getHttpResponseBytes())
+      .withRegistry(registry)) : null;
+    if (httpResponseTime != null && isEnabled(names.getHttpResponseTimeSamplingRatio())) {
+      responseTimeSampler.register(registry, names.getHttpResponseTimeSamplingRatio());
+    }
+    httpResponseBytes = isEnabled(names.getHttpResponseBytes()) ? cached(DistributionSummary.builder(names.getHttpResponseBytes())
       .description("Size of responses in bytes")
-      .withRegistry(registry);
+      .withRegistry(registry)) : null;
+    httpActiveRequests = isEnabled(names.getHttpActiveRequests()) ? cached(longGaugeBuilder(names.getHttpActiveRequests(), LongAdder::doubleValue)
+      .description("Number of requests being processed")
+      .withRegistry(registry)) : null;
+    httpActiveWsConnections = isEnabled(names.getHttpActiveWsConnections()) ? cached(longGaugeBuilder(names.getHttpActiveWsConnections(), LongAdder::doubleValue)
+      .description("Number of websockets currently opened")
+      .withRegistry(registry)) : null;
+    if (customTagsProvider == null && !enabledLabels.contains(REMOTE) && !enabledLabels.contains(HTTP_PATH) && !enabledLabels.contains(HTTP_ROUTE)) {
+      requestMetersTable = new AtomicReferenceArray<>(2 * METHOD_INDEXES.size() * VERSION_SLOTS);
+    } else {
+      requestMetersTable = null;
+    }
   }
 
 
   @Override
   public RequestMetric requestBegin(SocketAddress remoteAddress, HttpRequest request) {
-    Tags tags = request.version() == HttpVersion.HTTP_3 ? udpLocal : tcpLocal;
-    if (enabledLabels.contains(REMOTE)) {
-      String remoteName = remoteAddress.hostName();
-      if (remoteName == null) {
-        remoteName = "_";
+    RequestMeters meters = internedRequestMeters(remoteAddress, request);
+    if (meters == null) {
+      meters = new RequestMeters(requestTags(remoteAddress, request), false);
+    }
+    RequestMetric requestMetric = new RequestMetric(meters);
+    requestMetric.activeRequests(1);
+    return requestMetric;
+  }
+
+  private RequestMeters internedRequestMeters(SocketAddress remoteAddress, HttpRequest request) {
+    if (requestMetersTable == null) {
+      return null;
+    }
+    int methodIndex = 0;
+    if (enabledLabels.contains(HTTP_METHOD)) {
+      Integer index = METHOD_INDEXES.get(request.method());
+      if (index == null) {
+        // Custom method, not worth interning
+        return null;
+      }
+      methodIndex = index;
+    }
+    HttpVersion version = request.version();
+    int versionIndex = 0;
+    if (enabledLabels.contains(HTTP_VERSION)) {
+      versionIndex = version == null ? VERSION_SLOTS - 1 : version.ordinal();
+    }
+    int localIndex = version == HttpVersion.HTTP_3 ? 1 : 0;
+    int index = (localIndex * METHOD_INDEXES.size() + methodIndex) * VERSION_SLOTS + versionIndex;
+    RequestMeters meters = requestMetersTable.get(index);
+    if (meters == null) {
+      meters = new RequestMeters(requestTags(remoteAddress, request), true);
+      if (!requestMetersTable.compareAndSet(index, null, meters)) {
+        meters = requestMetersTable.get(index);
       }
-      tags = tags.and(REMOTE.toString(), Labels.address(remoteAddress, remoteName));
+    }
+    return meters;
+  }
+
+  private Tag remoteTag(SocketAddress remoteAddress) {
+    String remoteName = remoteAddress.hostName();
+    if (remoteName == null) {
+      remoteName = "_";
+    }
+    return Tag.of(REMOTE.toString(), remoteLimiter.apply(Labels.address(remoteAddress, remoteName)));
+  }
+
+  private Tags requestTags(SocketAddress remoteAddress, HttpRequest request) {
+    Tags tags = request.version() == HttpVersion.HTTP_3 ? udpLocal : tcpLocal;
+    if (remoteTags != null) {
+      tags = tags.and(remoteTags.get(remoteAddress));
     }
     if (enabledLabels.contains(HTTP_PATH)) {
-      tags = tags.and(HTTP_PATH.toString(), HttpUtils.parsePath(request.uri()));
+      tags = tags.and(HTTP_PATH.toString(), path(request.uri()));
     }
     if (enabledLabels.contains(HTTP_METHOD)) {
-      tags = tags.and(HTTP_METHOD.toString(), request.method().toString());
+      tags = tags.and(Labels.method(request.method()));
     }
     if (enabledLabels.contains(HTTP_VERSION) && request.version() != null) {
       tags = tags.and(HTTP_VERSION.toString(), versions.get(request.version()));
@@ -114,23 +208,35 @@ class VertxHttpServerMetrics extends AbstractMetrics implements HttpServerMetric
     if (customTagsProvider != null) {
       tags = tags.and(customTagsProvider.apply(request));
     }
-    RequestMetric requestMetric = new RequestMetric(tags);
-    requestMetric.requests.increment();
-    return requestMetric;
+    return tags;
+  }
+
+  private String path(String uri) {
+    String path = HttpUtils.parsePath(uri);
+    if (pathTemplates != null) {
+      path = pathTemplates.apply(path);
+    }
+    return pathLimiter.apply(path);
   }
 
   @Override
   public void requestReset(RequestMetric requestMetric) {
-    requestResetCount.withTags(requestMetric.tags).increment();
-    requestMetric.requests.decrement();
+    Counter requestResets = requestMetric.meters.requestResets();
+    if (requestResets != null) {
+      requestResets.increment();
+    }
+    requestMetric.activeRequests(-1);
     requestMetric.requestReset();
   }
 
   @Override
   public void requestEnd(RequestMetric requestMetric, HttpRequest request, long bytesRead) {
-    requestBytes.withTags(requestMetric.tags).record(bytesRead);
+    DistributionSummary requestBytes = requestMetric.meters.requestBytes();
+    if (requestBytes != null) {
+      requestBytes.record(bytesRead);
+    }
     if (requestMetric.requestEnded()) {
-      requestMetric.requests.decrement();
+      requestMetric.activeRequests(-1);
     }
   }
 
@@ -138,54 +244,67 @@ class VertxHttpServerMetrics extends AbstractMetrics implements HttpServerMetric
   public RequestMetric responsePushed(SocketAddress remoteAddress, HttpMethod method, String uri, HttpResponse response) {
     Tags tags = tcpLocal;
     if (enabledLabels.contains(HTTP_PATH)) {
-      tags.and(HTTP_PATH.toString(), HttpUtils.parsePath(uri));
+      tags = tags.and(HTTP_PATH.toString(), path(uri));
     }
     if (enabledLabels.contains(HTTP_METHOD)) {
-      tags.and(HTTP_METHOD.toString(), method.toString());
+      tags = tags.and(Labels.method(method));
     }
-    RequestMetric requestMetric = new RequestMetric(tags);
-    requestMetric.requests.increment();
+    RequestMetric requestMetric = new RequestMetric(new RequestMeters(tags, false));
+    requestMetric.activeRequests(1);
     return requestMetric;
   }
 
   @Override
   public void responseEnd(RequestMetric requestMetric, HttpResponse response, long bytesWritten) {
-    Tags responseTags = requestMetric.tags;
-    if (enabledLabels.contains(HTTP_ROUTE)) {
-      responseTags = responseTags.and(HTTP_ROUTE.toString(), requestMetric.getRoute());
-    }
-    if (enabledLabels.contains(HTTP_CODE)) {
-      responseTags = responseTags.and(HTTP_CODE.toString(), String.valueOf(response.statusCode()));
+    int statusCode = response.statusCode();
+    ResponseMeters responseMeters = requestMetric.meters.responseMeters(requestMetric, statusCode);
+    if (responseMeters != null) {
+      if (responseMeters.requestsCount != null) {
+        responseMeters.requestsCount.get().increment();
+      }
+      if (responseMeters.responseTime != null && requestMetric.sampled) {
+        responseMeters.responseTime.get().record(clock.monotonicTime() - requestMetric.start, TimeUnit.NANOSECONDS);
+      }
+      if (responseMeters.responseBytes != null) {
+        responseMeters.responseBytes.get().record(bytesWritten);
+      }
+    } else {
+      // Meters used once, resolved directly instead of through handles
+      Tags tags = requestMetric.meters.responseTags(requestMetric, statusCode);
+      if (httpRequestsCount != null) {
+        httpRequestsCount.withTags(tags).increment();
+      }
+      if (httpResponseTime != null && requestMetric.sampled) {
+        httpResponseTime.withTags(tags).record(clock.monotonicTime() - requestMetric.start, TimeUnit.NANOSECONDS);
+      }
+      if (httpResponseBytes != null) {
+        httpResponseBytes.withTags(tags).record(bytesWritten);
+      }
     }
-    httpRequestsCount.withTags(responseTags).increment();
-    requestMetric.sample.stop(httpResponseTime.withTags(responseTags));
-    httpResponseBytes.withTags(responseTags).record(bytesWritten);
     if (requestMetric.responseEnded()) {
-      requestMetric.requests.decrement();
+      requestMetric.activeRequests(-1);
     }
   }
 
   @Override
   public LongAdder connected(HttpRequest request) {
+    if (httpActiveWsConnections == null) {
+      return null;
+    }
     Tags tags = tcpLocal;
-    if (enabledLabels.contains(REMOTE)) {
-      String remoteName = request.remoteAddress().hostName();
-      if (remoteName == null) {
-        remoteName = "_";
-      }
-      tags = tags.and(REMOTE.toString(), Labels.address(request.remoteAddress(), remoteName));
+    if (remoteTags != null) {
+      tags = tags.and(remoteTags.get(request.remoteAddress()));
     }
-    LongAdder wsConnections = longGaugeBuilder(names.getHttpActiveWsConnections(), LongAdder::doubleValue)
-      .description("Number of websockets currently opened")
-      .tags(tags)
-      .register(registry);
+    LongAdder wsConnections = httpActiveWsConnections.withTags(tags);
     wsConnections.increment();
     return wsConnections;
   }
 
   @Override
   public void disconnected(LongAdder wsConnections) {
-    wsConnections.decrement();
+    if (wsConnections != null) {
+      wsConnections.decrement();
+    }
   }
 
   @Override
@@ -193,12 +312,118 @@ class VertxHttpServerMetrics extends AbstractMetrics implements HttpServerMetric
     requestMetric.addRoute(route);
   }
 
-  class RequestMetric {
+  /**
+   * Meters sharing the same request tags.
+   * <p>
+   * When only low-cardinality labels are enabled, instances are interned and resolve response meters by status code
+   * with an array lookup, so that the hot path does not have to build tags or query the registry. Meters are held as
+   * meter cache handles, so that they are resolved again when they are removed from the registry.
+   * <p>
+   * Other instances serve a single request: their meters are looked up with the tags when used, without handles.
+   */
+  class RequestMeters {
 
     final Tags tags;
+    private final AtomicReferenceArray<ResponseMeters> responses;
+    // Resolved once for interned meters, null otherwise
+    private final Supplier<LongAdder> activeRequestsAdder;
+    private volatile Supplier<DistributionSummary> requestBytesSummary;
+    private volatile Supplier<Counter> requestResetsCounter;
+
+    RequestMeters(Tags tags, boolean interned) {
+      this.tags = tags;
+      responses = interned ? new AtomicReferenceArray<>(MAX_STATUS_CODE - MIN_STATUS_CODE + 1) : null;
+      activeRequestsAdder = interned ? handle(httpActiveRequests, tags) : null;
+    }
+
+    LongAdder activeRequests() {
+      if (activeRequestsAdder != null) {
+        return activeRequestsAdder.get();
+      }
+      return httpActiveRequests != null ? httpActiveRequests.withTags(tags) : null;
+    }
+
+    DistributionSummary requestBytes() {
+      Supplier<DistributionSummary> summary = requestBytesSummary;
+      if (summary == null) {
+        if (requestBytes == null) {
+          return null;
+        }
+        if (responses == null) {
+          return requestBytes.withTags(tags);
+        }
+        summary = handle(requestBytes, tags);
+        requestBytesSummary = summary;
+      }
+      return summary.get();
+    }
+
+    Counter requestResets() {
+      Supplier<Counter> counter = requestResetsCounter;
+      if (counter == null) {
+        if (requestResetCount == null) {
+          return null;
+        }
+        if (responses == null) {
+          return requestResetCount.withTags(tags);
+        }
+        counter = handle(requestResetCount, tags);
+        requestResetsCounter = counter;
+      }
+      return counter.get();
+    }
+
+    /**
+     * @return the interned response meters for the status code, or {@code null} when they are not interned
+     */
+    ResponseMeters responseMeters(RequestMetric requestMetric, int statusCode) {
+      if (responses == null || statusCode < MIN_STATUS_CODE || statusCode > MAX_STATUS_CODE) {
+        return null;
+      }
+      int index = statusCode - MIN_STATUS_CODE;
+      ResponseMeters meters = responses.get(index);
+      if (meters == null) {
+        meters = new ResponseMeters(responseTags(requestMetric, statusCode));
+        if (!responses.compareAndSet(index, null, meters)) {
+          meters = responses.get(index);
+        }
+      }
+      return meters;
+    }
+
+    Tags responseTags(RequestMetric requestMetric, int statusCode) {
+      Tags responseTags = tags;
+      if (enabledLabels.contains(HTTP_ROUTE)) {
+        responseTags = responseTags.and(HTTP_ROUTE.toString(), requestMetric.getRoute());
+      }
+      if (enabledLabels.contains(HTTP_CODE)) {
+        responseTags = responseTags.and(Labels.statusCode(statusCode, codeClassEnabled));
+      }
+      return responseTags;
+    }
+  }
+
+  class ResponseMeters {
+
+    final Supplier<Counter> requestsCount;
+    final Supplier<Timer> responseTime;
+    final Supplier<DistributionSummary> responseBytes;
+
+    ResponseMeters(Tags tags) {
+      requestsCount = handle(httpRequestsCount, tags);
+      responseTime = handle(httpResponseTime, tags);
+      responseBytes = handle(httpResponseBytes, tags);
+    }
+  }
+
+  class RequestMetric {
+
+    final RequestMeters meters;
 
     final LongAdder requests;
-    final Sample sample;
+    final boolean sampled;
+    // Monotonic start time, in nanoseconds, only set when the response time is sampled
+    final long start;
 
     // a string for a single route, a list of string for multiple
     private Object routes;
@@ -208,13 +433,17 @@ class VertxHttpServerMetrics extends AbstractMetrics implements HttpServerMetric
     private boolean requestEnded;
     private boolean reset;
 
-    RequestMetric(Tags tags) {
-      this.tags = tags;
-      requests = longGaugeBuilder(names.getHttpActiveRequests(), LongAdder::doubleValue)
-        .description("Number of requests being processed")
-        .tags(tags)
-        .register(registry);
-      sample = Timer.start();
+    RequestMetric(RequestMeters meters) {
+      this.meters = meters;
+      requests = meters.activeRequests();
+      sampled = httpResponseTime != null && responseTimeSampler.sample();
+      start = sampled ? clock.monotonicTime() : 0L;
+    }
+
+    void activeRequests(int delta) {
+      if (requests != null) {
+        requests.add(delta);
+      }
     }
 
     // we try to minimize allocations as far as possible. see https://github.com/vert-x3/vertx-dropwizard-metrics/pull/101
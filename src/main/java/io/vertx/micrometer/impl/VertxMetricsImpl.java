@@ -37,14 +37,20 @@ import io.vertx.core.internal.buffer.BufferInternal;
 import io.vertx.core.net.*;
 import io.vertx.core.spi.metrics.*;
 import io.vertx.core.spi.observability.HttpRequest;
+import io.vertx.micrometer.Label;
 import io.vertx.micrometer.MetricsDomain;
 import io.vertx.micrometer.MicrometerMetricsOptions;
 import io.vertx.micrometer.backends.BackendRegistries;
 import io.vertx.micrometer.backends.BackendRegistry;
 import io.vertx.micrometer.impl.meters.LongGauges;
+import io.vertx.micrometer.impl.meters.MeterCache;
+import io.vertx.micrometer.impl.tags.CardinalityLimits;
+import io.vertx.micrometer.impl.tags.LabelMatchers;
+import io.vertx.micrometer.impl.tags.PathTemplates;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static io.vertx.micrometer.MetricsDomain.*;
@@ -63,9 +69,24 @@ public class VertxMetricsImpl extends AbstractMetrics implements VertxMetrics {
   private final List<MeterBinder> meterBinders;
   private final Function<HttpRequest, Iterable<Tag>> serverRequestTagsProvider;
   private final Function<HttpRequest, Iterable<Tag>> clientRequestTagsProvider;
+  private final PathTemplates httpPathTemplates;
+  private final boolean httpCodeClassEnabled;
+  private final LatencySampler httpResponseTimeSampler;
+  private final MeterCache meterCache;
+  private final int idleSeriesTimeout;
+  private final int netBytesFlushInterval;
+  private final NetBytesBatches netBytesBatches;
 
   public VertxMetricsImpl(MicrometerMetricsOptions options, BackendRegistry backendRegistry, LongGauges longGauges) {
-    super(backendRegistry.getMeterRegistry(), options.getMetricsNaming(), longGauges, EnumSet.copyOf(options.getLabels()));
+    this(options, backendRegistry, longGauges, createMeterCache(options, backendRegistry));
+  }
+
+  private VertxMetricsImpl(MicrometerMetricsOptions options, BackendRegistry backendRegistry, LongGauges longGauges, MeterCache meterCache) {
+    super(backendRegistry.getMeterRegistry(), options.getMetricsNaming(), longGauges, meterCache,
+      createCardinalityLimits(options), createLabelMatchers(options),
+      options.getDisabledMetrics() != null ? new HashSet<>(options.getDisabledMetrics()) : Collections.emptySet(),
+      EnumSet.copyOf(options.getLabels()));
+    this.meterCache = meterCache;
     this.backendRegistry = backendRegistry;
     registryName = options.getRegistryName();
     if (options.getDisabledMetricsCategories() != null) {
@@ -78,6 +99,35 @@ public class VertxMetricsImpl extends AbstractMetrics implements VertxMetrics {
     meterBinders = new CopyOnWriteArrayList<>();
     serverRequestTagsProvider = options.getServerRequestTagsProvider();
     clientRequestTagsProvider = options.getClientRequestTagsProvider();
+    httpPathTemplates = options.isHttpPathTemplatingEnabled() ? new PathTemplates(options.getHttpPathTemplates()) : null;
+    httpCodeClassEnabled = options.isHttpCodeClassEnabled();
+    int httpResponseTimeSampling = options.getHttpResponseTimeSampling();
+    httpResponseTimeSampler = httpResponseTimeSampling > 1 ? new LatencySampler(httpResponseTimeSampling) : LatencySampler.ALL;
+    idleSeriesTimeout = options.isMeterCacheEnabled() ? options.getIdleSeriesTimeout() : 0;
+    netBytesFlushInterval = options.getNetBytesFlushInterval();
+    netBytesBatches = netBytesFlushInterval > 0 ? new NetBytesBatches() : null;
+  }
+
+  private static MeterCache createMeterCache(MicrometerMetricsOptions options, BackendRegistry backendRegistry) {
+    Set<String> expirableLabels;
+    if (options.getIdleSeriesTimeout() > 0) {
+      expirableLabels = Set.of(Label.REMOTE.toString(), Label.HTTP_PATH.toString(), Label.EB_ADDRESS.toString());
+    } else {
+      expirableLabels = Collections.emptySet();
+    }
+    return new MeterCache(backendRegistry.getMeterRegistry(), options.isMeterCacheEnabled(), options.getMeterCacheMaxSize(), expirableLabels);
+  }
+
+  private static CardinalityLimits createCardinalityLimits(MicrometerMetricsOptions options) {
+    Map<String, Integer> limits = options.getLabelCardinalityLimits();
+    return new CardinalityLimits(options.getLabelCardinalityLimit(), limits != null ? new HashMap<>(limits) : Map.of());
+  }
+
+  private static LabelMatchers createLabelMatchers(MicrometerMetricsOptions options) {
+    if (!options.isLabelMatchesAtSourceEnabled() || options.getLabelMatches().isEmpty()) {
+      return null;
+    }
+    return new LabelMatchers(options.getLabelMatches());
   }
 
   public void init() {
@@ -112,11 +162,23 @@ public class VertxMetricsImpl extends AbstractMetrics implements VertxMetrics {
 
   @Override
   public void vertxCreated(Vertx vertx) {
+    backendRegistry.vertxCreated(vertx);
     if (bindNettyMetrics) {
       VertxInternal vi = (VertxInternal) vertx;
       addMeterBinder(new NettyEventExecutorMetrics(vi.acceptorEventLoopGroup()));
       addMeterBinder(new NettyEventExecutorMetrics(vi.eventLoopGroup()));
     }
+    if (idleSeriesTimeout > 0) {
+      vertx.setPeriodic(TimeUnit.SECONDS.toMillis(idleSeriesTimeout), id -> {
+        vertx.executeBlocking(() -> {
+          meterCache.expireIdleSeries();
+          return null;
+        }, false);
+      });
+    }
+    if (netBytesBatches != null) {
+      vertx.setPeriodic(netBytesFlushInterval, id -> netBytesBatches.flush());
+    }
   }
 
   @Override
@@ -124,6 +186,9 @@ public class VertxMetricsImpl extends AbstractMetrics implements VertxMetrics {
     if (disabledCategories.contains(EVENT_BUS.toCategory())) {
       return null;
     }
+    if (LazyMetrics.isInactive(registry)) {
+      return new LazyMetrics.EventBus<>(registry, () -> new VertxEventBusMetrics(this));
+    }
     return new VertxEventBusMetrics(this);
   }
 
@@ -132,12 +197,14 @@ public class VertxMetricsImpl extends AbstractMetrics implements VertxMetrics {
     if (disabledCategories.contains(HTTP_SERVER.toCategory())) {
       return null;
     }
-    String metricsName = null;
     ObservabilityConfig obsCfg = config.getObservabilityConfig();
-    if (obsCfg != null) {
-      metricsName = obsCfg.getMetricsName();
+    String metricsName = obsCfg != null ? obsCfg.getMetricsName() : null;
+    if (LazyMetrics.isInactive(registry)) {
+      return new LazyMetrics.HttpServer<>(registry, () -> new VertxHttpServerMetrics(this, serverRequestTagsProvider,
+        httpPathTemplates, httpCodeClassEnabled, httpResponseTimeSampler, metricsName, tcpLocalAddress, udpLocalAddress));
     }
-    return new VertxHttpServerMetrics(this, serverRequestTagsProvider, metricsName, tcpLocalAddress, udpLocalAddress);
+    return new VertxHttpServerMetrics(this, serverRequestTagsProvider, httpPathTemplates, httpCodeClassEnabled,
+      httpResponseTimeSampler, metricsName, tcpLocalAddress, udpLocalAddress);
   }
 
   @Override
@@ -152,12 +219,14 @@ public class VertxMetricsImpl extends AbstractMetrics implements VertxMetrics {
     } else {
       localhost = null;
     }
-    String metricsName = null;
     ObservabilityConfig obsCfg = config.getObservabilityConfig();
-    if (obsCfg != null) {
-      metricsName = obsCfg.getMetricsName();
+    String metricsName = obsCfg != null ? obsCfg.getMetricsName() : null;
+    if (LazyMetrics.isInactive(registry)) {
+      return new LazyMetrics.HttpClient<>(registry, () -> new VertxHttpClientMetrics(this, metricsName,
+        clientRequestTagsProvider, httpPathTemplates, httpCodeClassEnabled, httpResponseTimeSampler, localhost));
     }
-    return new VertxHttpClientMetrics(this, metricsName, clientRequestTagsProvider, localhost);
+    return new VertxHttpClientMetrics(this, metricsName, clientRequestTagsProvider, httpPathTemplates, httpCodeClassEnabled,
+      httpResponseTimeSampler, localhost);
   }
 
   @Override
@@ -171,7 +240,10 @@ public class VertxMetricsImpl extends AbstractMetrics implements VertxMetrics {
     if (disabledCategories.contains(domain.toCategory())) {
       return null;
     }
-    return new VertxNetServerMetrics(this, domain, localAddress);
+    if (LazyMetrics.isInactive(registry)) {
+      return new LazyMetrics.Transport<>(registry, () -> new VertxNetServerMetrics(this, domain, localAddress, netBytesBatches));
+    }
+    return new VertxNetServerMetrics(this, domain, localAddress, netBytesBatches);
   }
 
   @Override
@@ -187,7 +259,11 @@ public class VertxMetricsImpl extends AbstractMetrics implements VertxMetrics {
     }
     SocketAddress localAddress;
     String localhost = (localAddress = config.getLocalAddress()) != null ? localAddress.host() : null;
-    return new VertxNetClientMetrics(this, config.getMetricsName(), domain, localhost);
+    if (LazyMetrics.isInactive(registry)) {
+      return new LazyMetrics.Transport<>(registry, () -> new VertxNetClientMetrics(this, config.getMetricsName(), domain, localhost,
+        netBytesBatches));
+    }
+    return new VertxNetClientMetrics(this, config.getMetricsName(), domain, localhost, netBytesBatches);
   }
 
   @Override
@@ -195,6 +271,9 @@ public class VertxMetricsImpl extends AbstractMetrics implements VertxMetrics {
     if (disabledCategories.contains(DATAGRAM_SOCKET.toCategory())) {
       return null;
     }
+    if (LazyMetrics.isInactive(registry)) {
+      return new LazyMetrics.DatagramSocket(registry, () -> new VertxDatagramSocketMetrics(this));
+    }
     return new VertxDatagramSocketMetrics(this);
   }
 
@@ -203,6 +282,9 @@ public class VertxMetricsImpl extends AbstractMetrics implements VertxMetrics {
     if (disabledCategories.contains(NAMED_POOLS.toCategory())) {
       return null;
     }
+    if (LazyMetrics.isInactive(registry)) {
+      return new LazyMetrics.Pool<>(registry, () -> new VertxPoolMetrics(this, poolType, poolName, maxPoolSize));
+    }
     return new VertxPoolMetrics(this, poolType, poolName, maxPoolSize);
   }
 
@@ -211,6 +293,9 @@ public class VertxMetricsImpl extends AbstractMetrics implements VertxMetrics {
     if (disabledCategories.contains(type)) {
       return null;
     }
+    if (LazyMetrics.isInactive(registry)) {
+      return new LazyMetrics.Client<>(registry, () -> new VertxClientMetrics(this, remoteAddress, type, namespace));
+    }
     return new VertxClientMetrics(this, remoteAddress, type, namespace);
   }
 
@@ -221,6 +306,10 @@ public class VertxMetricsImpl extends AbstractMetrics implements VertxMetrics {
 
   @Override
   public void close() {
+    if (netBytesBatches != null) {
+      netBytesBatches.flush();
+    }
+    meterCache.close();
     for (MeterBinder meterBinder : meterBinders) {
       if (meterBinder instanceof AutoCloseable) {
         AutoCloseable closeable = (AutoCloseable) meterBinder;
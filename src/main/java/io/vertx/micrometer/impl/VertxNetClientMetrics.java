@@ -23,9 +23,12 @@ import io.vertx.core.net.SocketAddress;
 import io.vertx.core.spi.metrics.TransportMetrics;
 import io.vertx.micrometer.MetricsDomain;
 import io.vertx.micrometer.impl.VertxNetClientMetrics.NetClientSocketMetric;
+import io.vertx.micrometer.impl.meters.LongGaugeProvider;
+import io.vertx.micrometer.impl.tags.CardinalityLimiter;
 import io.vertx.micrometer.impl.tags.Labels;
 
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import static io.vertx.micrometer.Label.*;
 
@@ -35,9 +38,16 @@ import static io.vertx.micrometer.Label.*;
 class VertxNetClientMetrics extends AbstractMetrics implements TransportMetrics<NetClientSocketMetric> {
 
   final Tags local;
+  private final CardinalityLimiter remoteLimiter;
   private final MeterProvider<Counter> netErrorCount;
-
-  VertxNetClientMetrics(AbstractMetrics parent, String metricsName, MetricsDomain domain, String localAddress) {
+  private final MeterProvider<Counter> netBytesRead;
+  private final MeterProvider<Counter> netBytesWritten;
+  private final LongGaugeProvider netActiveConnections;
+  // Null when bytes are added to the counters immediately
+  private final NetBytesBatches netBytesBatches;
+
+  VertxNetClientMetrics(AbstractMetrics parent, String metricsName, MetricsDomain domain, String localAddress,
+                        NetBytesBatches netBytesBatches) {
     super(parent, domain);
     Tags base;
     if (enabledLabels.contains(CLIENT_NAME) && metricsName != null && !metricsName.isBlank()) {
@@ -50,39 +60,68 @@ class VertxNetClientMetrics extends AbstractMetrics implements TransportMetrics<
     } else {
       local = base;
     }
-    netErrorCount = Counter.builder(names.getNetErrorCount())
+    remoteLimiter = cardinalityLimiter(REMOTE);
+    netErrorCount = isEnabled(names.getNetErrorCount()) ? cached(Counter.builder(names.getNetErrorCount())
       .description("Number of errors")
-      .withRegistry(registry);
+      .withRegistry(registry)) : null;
+    netBytesRead = isEnabled(names.getNetBytesRead()) ? cached(Counter.builder(names.getNetBytesRead())
+      .description("Number of bytes received from the remote host")
+      .withRegistry(registry)) : null;
+    netBytesWritten = isEnabled(names.getNetBytesWritten()) ? cached(Counter.builder(names.getNetBytesWritten())
+      .description("Number of bytes sent to the remote host")
+      .withRegistry(registry)) : null;
+    netActiveConnections = isEnabled(names.getNetActiveConnections()) ? cached(longGaugeBuilder(names.getNetActiveConnections(), LongAdder::doubleValue)
+      .description("Number of connections to the remote host currently opened")
+      .withRegistry(registry)) : null;
+    this.netBytesBatches = netBytesRead != null || netBytesWritten != null ? netBytesBatches : null;
   }
 
   @Override
   public NetClientSocketMetric connected(SocketAddress remoteAddress, String remoteName) {
     Tags tags = local;
     if (enabledLabels.contains(REMOTE)) {
-      tags = tags.and(REMOTE.toString(), Labels.address(remoteAddress, remoteName));
+      tags = tags.and(REMOTE.toString(), remoteLimiter.apply(Labels.address(remoteAddress, remoteName)));
     }
     NetClientSocketMetric socketMetric = new NetClientSocketMetric(tags);
-    socketMetric.connections.increment();
+    if (socketMetric.connections != null) {
+      socketMetric.connections.increment();
+    }
     return socketMetric;
   }
 
   @Override
   public void disconnected(NetClientSocketMetric socketMetric, SocketAddress remoteAddress) {
-    socketMetric.connections.decrement();
+    if (socketMetric.connections != null) {
+      socketMetric.connections.decrement();
+    }
+    if (socketMetric.bytes != null) {
+      netBytesBatches.close(socketMetric.bytes);
+    }
   }
 
   @Override
   public void bytesRead(NetClientSocketMetric socketMetric, SocketAddress remoteAddress, long numberOfBytes) {
-    socketMetric.bytesReceived.increment(numberOfBytes);
+    if (socketMetric.bytes != null) {
+      socketMetric.bytes.bytesRead(numberOfBytes);
+    } else if (socketMetric.bytesRead != null) {
+      socketMetric.bytesRead.get().increment(numberOfBytes);
+    }
   }
 
   @Override
   public void bytesWritten(NetClientSocketMetric socketMetric, SocketAddress remoteAddress, long numberOfBytes) {
-    socketMetric.bytesSent.increment(numberOfBytes);
+    if (socketMetric.bytes != null) {
+      socketMetric.bytes.bytesWritten(numberOfBytes);
+    } else if (socketMetric.bytesWritten != null) {
+      socketMetric.bytesWritten.get().increment(numberOfBytes);
+    }
   }
 
   @Override
   public void exceptionOccurred(NetClientSocketMetric socketMetric, SocketAddress remoteAddress, Throwable t) {
+    if (netErrorCount == null) {
+      return;
+    }
     Tags tags = socketMetric.tags;
     if (enabledLabels.contains(CLASS_NAME)) {
       tags = tags.and(CLASS_NAME.toString(), t.getClass().getSimpleName());
@@ -95,23 +134,17 @@ class VertxNetClientMetrics extends AbstractMetrics implements TransportMetrics<
     final Tags tags;
 
     final LongAdder connections;
-    final Counter bytesReceived;
-    final Counter bytesSent;
+    final NetBytesBatches.Batch bytes;
+    final Supplier<Counter> bytesRead;
+    final Supplier<Counter> bytesWritten;
 
     NetClientSocketMetric(Tags tags) {
       this.tags = tags;
-      connections = longGaugeBuilder(names.getNetActiveConnections(), LongAdder::doubleValue)
-        .description("Number of connections to the remote host currently opened")
-        .tags(tags)
-        .register(registry);
-      bytesReceived = Counter.builder(names.getNetBytesRead())
-        .description("Number of bytes received from the remote host")
-        .tags(tags)
-        .register(registry);
-      bytesSent = Counter.builder(names.getNetBytesWritten())
-        .description("Number of bytes sent to the remote host")
-        .tags(tags)
-        .register(registry);
+      bytes = netBytesBatches != null ? netBytesBatches.open(netBytesRead, netBytesWritten, tags) : null;
+      connections = netActiveConnections != null ? netActiveConnections.withTags(tags) : null;
+      // Held as handles, so that the counters are registered again if idle series expiry removed them
+      bytesRead = bytes == null ? handle(netBytesRead, tags) : null;
+      bytesWritten = bytes == null ? handle(netBytesWritten, tags) : null;
     }
   }
 }
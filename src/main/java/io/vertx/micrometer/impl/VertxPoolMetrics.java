@@ -19,9 +19,9 @@ package io.vertx.micrometer.impl;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
-import io.micrometer.core.instrument.Timer.Sample;
 import io.vertx.core.spi.metrics.PoolMetrics;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 
 import static io.vertx.micrometer.Label.POOL_NAME;
@@ -31,7 +31,7 @@ import static io.vertx.micrometer.MetricsDomain.NAMED_POOLS;
 /**
  * @author Joel Takvorian
  */
-class VertxPoolMetrics extends AbstractMetrics implements PoolMetrics<Sample, Sample> {
+class VertxPoolMetrics extends AbstractMetrics implements PoolMetrics<Long, Long> {
 
   final Timer queueDelay;
   final LongAdder queueSize;
@@ -49,56 +49,74 @@ class VertxPoolMetrics extends AbstractMetrics implements PoolMetrics<Sample, Sa
     if (enabledLabels.contains(POOL_NAME) || "http".equals(poolType)) {
       tags = tags.and(POOL_NAME.toString(), poolName);
     }
-    queueDelay = Timer.builder(names.getPoolQueueTime())
+    queueDelay = isEnabled(names.getPoolQueueTime()) ? Timer.builder(names.getPoolQueueTime())
       .description("Time spent in queue before being processed")
       .tags(tags)
-      .register(registry);
-    queueSize = longGaugeBuilder(names.getPoolQueuePending(), LongAdder::doubleValue)
+      .register(registry) : null;
+    queueSize = isEnabled(names.getPoolQueuePending()) ? longGaugeBuilder(names.getPoolQueuePending(), LongAdder::doubleValue)
       .description("Number of pending elements in queue")
       .tags(tags)
-      .register(registry);
-    usage = Timer.builder(names.getPoolUsage())
+      .register(registry) : null;
+    usage = isEnabled(names.getPoolUsage()) ? Timer.builder(names.getPoolUsage())
       .description("Time using a resource")
       .tags(tags)
-      .register(registry);
-    inUse = longGaugeBuilder(names.getPoolInUse(), LongAdder::doubleValue)
+      .register(registry) : null;
+    inUse = isEnabled(names.getPoolInUse()) ? longGaugeBuilder(names.getPoolInUse(), LongAdder::doubleValue)
       .description("Number of resources used")
       .tags(tags)
-      .register(registry);
-    usageRatio = longGaugeBuilder(names.getPoolUsageRatio(), value -> maxPoolSize > 0 ? value.doubleValue() / maxPoolSize : Double.NaN)
+      .register(registry) : null;
+    usageRatio = isEnabled(names.getPoolUsageRatio()) ? longGaugeBuilder(names.getPoolUsageRatio(), value -> maxPoolSize > 0 ? value.doubleValue() / maxPoolSize : Double.NaN)
       .description("Pool usage ratio, only present if maximum pool size could be determined")
       .tags(tags)
-      .register(registry);
-    completed = Counter.builder(names.getPoolCompleted())
+      .register(registry) : null;
+    completed = isEnabled(names.getPoolCompleted()) ? Counter.builder(names.getPoolCompleted())
       .description("Number of elements done with the resource")
       .tags(tags)
-      .register(registry);
+      .register(registry) : null;
   }
 
   @Override
-  public Sample enqueue() {
-    queueSize.increment();
-    return Timer.start();
+  public Long enqueue() {
+    if (queueSize != null) {
+      queueSize.increment();
+    }
+    return clock.monotonicTime();
   }
 
   @Override
-  public void dequeue(Sample submitted) {
-    queueSize.decrement();
-    submitted.stop(queueDelay);
+  public void dequeue(Long submitted) {
+    if (queueSize != null) {
+      queueSize.decrement();
+    }
+    if (queueDelay != null) {
+      queueDelay.record(clock.monotonicTime() - submitted, TimeUnit.NANOSECONDS);
+    }
   }
 
   @Override
-  public Sample begin() {
-    inUse.increment();
-    usageRatio.increment();
-    return Timer.start();
+  public Long begin() {
+    if (inUse != null) {
+      inUse.increment();
+    }
+    if (usageRatio != null) {
+      usageRatio.increment();
+    }
+    return clock.monotonicTime();
   }
 
   @Override
-  public void end(Sample timer) {
-    inUse.decrement();
-    usageRatio.decrement();
-    timer.stop(usage);
-    completed.increment();
+  public void end(Long begin) {
+    if (inUse != null) {
+      inUse.decrement();
+    }
+    if (usageRatio != null) {
+      usageRatio.decrement();
+    }
+    if (usage != null) {
+      usage.record(clock.monotonicTime() - begin, TimeUnit.NANOSECONDS);
+    }
+    if (completed != null) {
+      completed.increment();
+    }
   }
 }
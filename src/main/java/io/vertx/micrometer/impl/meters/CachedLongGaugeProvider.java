@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.impl.meters;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+class CachedLongGaugeProvider implements LongGaugeProvider {
+
+  private final LongGaugeBuilder.Registration delegate;
+  private final Predicate<Iterable<Tag>> filter;
+  // Shared by the tags denied by the filter, its adder is not backed by a gauge
+  private final Series denied;
+  final TagsCache<Series> series;
+
+  CachedLongGaugeProvider(LongGaugeBuilder.Registration delegate, Predicate<Iterable<Tag>> filter, MeterCache owner,
+                          int maxSize) {
+    this.delegate = delegate;
+    this.filter = filter;
+    this.denied = new Series(null, new LongAdder());
+    this.series = new TagsCache<>(owner, maxSize, s -> s.gauge, s -> s.adder.sum() == 0, this::revive);
+  }
+
+  @Override
+  public LongAdder withTags(Iterable<Tag> tags) {
+    Tags key = tags instanceof Tags ? (Tags) tags : Tags.of(tags);
+    return series.computeIfAbsent(key, this::register).adder;
+  }
+
+  Supplier<LongAdder> handle(Tags tags) {
+    Supplier<Series> handle = series.handle(tags, this::register);
+    return () -> handle.get().adder;
+  }
+
+  private Series register(Tags tags) {
+    if (filter != null && !filter.test(tags)) {
+      return denied;
+    }
+    Gauge gauge = delegate.gauge(tags);
+    return new Series(gauge, delegate.adder(gauge));
+  }
+
+  private void revive(Series series) {
+    if (series.gauge != null) {
+      delegate.reinstate(series.gauge, series.adder);
+    }
+  }
+
+  static class Series {
+
+    final Gauge gauge;
+    final LongAdder adder;
+
+    Series(Gauge gauge, LongAdder adder) {
+      this.gauge = gauge;
+      this.adder = adder;
+    }
+  }
+}
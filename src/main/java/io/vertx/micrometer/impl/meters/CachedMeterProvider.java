@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.impl.meters;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.function.Supplier;
+
+class CachedMeterProvider<T extends Meter> implements Meter.MeterProvider<T> {
+
+  private final Meter.MeterProvider<T> delegate;
+  final TagsCache<T> meters;
+
+  CachedMeterProvider(Meter.MeterProvider<T> delegate, MeterCache owner, int maxSize) {
+    this.delegate = delegate;
+    // Meters other than gauges are idle as soon as they are not updated anymore
+    this.meters = new TagsCache<>(owner, maxSize, meter -> meter, meter -> true);
+  }
+
+  @Override
+  public T withTag(String key, String value) {
+    return withTags(Tags.of(key, value));
+  }
+
+  @Override
+  public T withTags(String... tags) {
+    return withTags(Tags.of(tags));
+  }
+
+  @Override
+  public T withTags(Iterable<? extends Tag> tags) {
+    Tags key = tags instanceof Tags ? (Tags) tags : Tags.of(tags);
+    return meters.computeIfAbsent(key, delegate::withTags);
+  }
+
+  Supplier<T> handle(Tags tags) {
+    return meters.handle(tags, delegate::withTags);
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.impl.meters;
+
+import io.micrometer.core.instrument.Tag;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A provider returning a detached adder, without querying the registry, for the tags that are not accepted.
+ */
+class FilteredLongGaugeProvider implements LongGaugeProvider {
+
+  private final LongGaugeProvider delegate;
+  private final Predicate<Iterable<Tag>> filter;
+  private final LongAdder detached;
+
+  FilteredLongGaugeProvider(LongGaugeProvider delegate, Predicate<Iterable<Tag>> filter) {
+    this.delegate = delegate;
+    this.filter = filter;
+    this.detached = new LongAdder();
+  }
+
+  @Override
+  public LongAdder withTags(Iterable<Tag> tags) {
+    return filter.test(tags) ? delegate.withTags(tags) : detached;
+  }
+}
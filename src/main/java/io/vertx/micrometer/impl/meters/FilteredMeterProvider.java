@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.impl.meters;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.noop.NoopMeter;
+
+import java.util.function.Predicate;
+
+/**
+ * A provider returning a no-op meter, without querying the registry, for the tags that are not accepted.
+ */
+class FilteredMeterProvider<T extends Meter> implements Meter.MeterProvider<T> {
+
+  private final Meter.MeterProvider<T> delegate;
+  private final Predicate<Iterable<Tag>> filter;
+  private volatile T noop;
+
+  FilteredMeterProvider(Meter.MeterProvider<T> delegate, Predicate<Iterable<Tag>> filter) {
+    this.delegate = delegate;
+    this.filter = filter;
+  }
+
+  @Override
+  public T withTag(String key, String value) {
+    return withTags(Tags.of(key, value));
+  }
+
+  @Override
+  public T withTags(String... tags) {
+    return withTags(Tags.of(tags));
+  }
+
+  @Override
+  public T withTags(Iterable<? extends Tag> tags) {
+    @SuppressWarnings("unchecked") Iterable<Tag> iterable = (Iterable<Tag>) tags;
+    if (filter.test(iterable)) {
+      return delegate.withTags(tags);
+    }
+    T meter = noop;
+    if (meter == null) {
+      // The registry denies the meter as well, and provides a no-op meter of the right type that can be shared
+      meter = delegate.withTags(tags);
+      if (meter instanceof NoopMeter) {
+        noop = meter;
+      }
+    }
+    return meter;
+  }
+}
@@ -21,37 +21,118 @@ import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.vertx.micrometer.Label;
 
+import java.util.List;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.LongAdder;
-import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
 
 public class LongGaugeBuilder {
 
-  private final LongAdderSupplier supplier;
-  private final Gauge.Builder<Supplier<Number>> builder;
+  // The series tagged with one of these labels are too many for each to hold a slot per event-loop thread
+  private static final List<String> HIGH_CARDINALITY_TAGS = List.of(
+    Label.REMOTE.toString(), Label.HTTP_PATH.toString(), Label.EB_ADDRESS.toString());
+
+  private final String name;
   private final ConcurrentMap<Meter.Id, LongAdder> longGauges;
+  private final StripedLongAdder.Stripes stripes;
+  private final ToDoubleFunction<LongAdder> func;
+  private String description;
+  private Tags tags;
 
-  LongGaugeBuilder(String name, ConcurrentMap<Meter.Id, LongAdder> longGauges, ToDoubleFunction<LongAdder> func) {
-    this.supplier = new LongAdderSupplier(longGauges, func);
-    this.builder = Gauge.builder(name, supplier);
+  LongGaugeBuilder(String name, ConcurrentMap<Meter.Id, LongAdder> longGauges, StripedLongAdder.Stripes stripes,
+                   ToDoubleFunction<LongAdder> func) {
+    this.name = name;
     this.longGauges = longGauges;
+    this.stripes = stripes;
+    this.func = func;
+    this.tags = Tags.empty();
   }
 
   public LongGaugeBuilder description(String description) {
-    builder.description(description);
+    this.description = description;
     return this;
   }
 
   public LongGaugeBuilder tags(Iterable<Tag> tags) {
-    builder.tags(tags);
+    this.tags = this.tags.and(tags);
     return this;
   }
 
   public LongAdder register(MeterRegistry registry) {
-    Meter.Id meterId = builder.register(registry).getId();
-    supplier.setId(meterId);
-    return longGauges.computeIfAbsent(meterId, id -> new LongAdder());
+    return adder(gauge(registry, tags));
+  }
+
+  /**
+   * @return a provider registering a gauge with the tags of this builder and the tags supplied when resolving a {@link LongAdder}
+   */
+  public LongGaugeProvider withRegistry(MeterRegistry registry) {
+    return new Registration(this, registry, tags);
+  }
+
+  private Gauge gauge(MeterRegistry registry, Tags tags) {
+    LongAdderSupplier supplier = new LongAdderSupplier(longGauges, func);
+    Gauge gauge = Gauge.builder(name, supplier)
+      .description(description)
+      .tags(tags)
+      .register(registry);
+    supplier.setId(gauge.getId());
+    return gauge;
+  }
+
+  private LongAdder adder(Gauge gauge) {
+    return longGauges.computeIfAbsent(gauge.getId(), this::newAdder);
+  }
+
+  private LongAdder newAdder(Meter.Id id) {
+    for (String key : HIGH_CARDINALITY_TAGS) {
+      if (id.getTag(key) != null) {
+        return new LongAdder();
+      }
+    }
+    return new StripedLongAdder(stripes);
+  }
+
+  private void reinstate(Gauge gauge, LongAdder adder) {
+    LongAdder current = longGauges.putIfAbsent(gauge.getId(), adder);
+    if (current != null && current != adder) {
+      current.add(adder.sumThenReset());
+    }
+  }
+
+  static class Registration implements LongGaugeProvider {
+
+    private final LongGaugeBuilder builder;
+    private final MeterRegistry registry;
+    private final Tags baseTags;
+
+    private Registration(LongGaugeBuilder builder, MeterRegistry registry, Tags baseTags) {
+      this.builder = builder;
+      this.registry = registry;
+      this.baseTags = baseTags;
+    }
+
+    @Override
+    public LongAdder withTags(Iterable<Tag> tags) {
+      return adder(gauge(tags));
+    }
+
+    Gauge gauge(Iterable<Tag> tags) {
+      return builder.gauge(registry, baseTags.and(tags));
+    }
+
+    LongAdder adder(Gauge gauge) {
+      return builder.adder(gauge);
+    }
+
+    /**
+     * Make {@code adder}, which was backing a gauge removed from the registry, back the gauge registered next with the
+     * same id, or move its value to the adder already backing it.
+     */
+    void reinstate(Gauge gauge, LongAdder adder) {
+      builder.reinstate(gauge, adder);
+    }
   }
 }
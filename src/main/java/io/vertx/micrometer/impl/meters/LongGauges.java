@@ -18,6 +18,7 @@
 package io.vertx.micrometer.impl.meters;
 
 import io.micrometer.core.instrument.Meter;
+import io.vertx.core.VertxOptions;
 
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.LongAdder;
@@ -26,12 +27,22 @@ import java.util.function.ToDoubleFunction;
 public class LongGauges {
 
   private final ConcurrentMap<Meter.Id, LongAdder> longGauges;
+  private final StripedLongAdder.Stripes stripes;
 
   public LongGauges(ConcurrentMap<Meter.Id, LongAdder> longGauges) {
+    this(longGauges, VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE);
+  }
+
+  /**
+   * @param eventLoopPoolSize the number of event-loop threads updating the gauges without contention, the threads of
+   *                          other Vert.x instances sharing the gauges fall back to the contended cells
+   */
+  public LongGauges(ConcurrentMap<Meter.Id, LongAdder> longGauges, int eventLoopPoolSize) {
     this.longGauges = longGauges;
+    this.stripes = new StripedLongAdder.Stripes(eventLoopPoolSize);
   }
 
   public LongGaugeBuilder builder(String name, ToDoubleFunction<LongAdder> func) {
-    return new LongGaugeBuilder(name, longGauges, func);
+    return new LongGaugeBuilder(name, longGauges, stripes, func);
   }
 }
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.impl.meters;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Creates {@link Meter.MeterProvider} and {@link LongGaugeProvider} instances that keep the meters (or gauge adders) they
+ * resolve, keyed by tags, so that recording a value does not require a registry lookup.
+ * <p>
+ * Each provider, that is each metric name of each metrics object (e.g. an HTTP server), holds at most {@code maxSize}
+ * meters; when the limit is reached, an idle entry is evicted, and its meter is removed from the registry unless another
+ * provider holds it. Removing any meter from the registry invalidates all the providers created by this cache.
+ * <p>
+ * When idle expiry is enabled, {@link #expireIdleSeries()} removes from the registry the series tagged with one of the
+ * expirable labels that have not been used since the previous invocation.
+ */
+public class MeterCache {
+
+  // A single removal listener per registry, notifying the caches that are not closed: listeners cannot be unregistered
+  private static final Map<MeterRegistry, Set<MeterCache>> cachesByRegistry = new WeakHashMap<>(1);
+
+  private final MeterRegistry registry;
+  private final boolean enabled;
+  private final int maxSize;
+  private final Set<String> expirableLabels;
+  private final AtomicInteger removals;
+  private final AtomicInteger expirations;
+  private final Set<Meter.Id> expiring;
+  // Number of provider entries holding each meter
+  private final ConcurrentMap<Meter.Id, Integer> references;
+  private final ConcurrentLinkedQueue<WeakReference<TagsCache<?>>> caches;
+  private volatile Consumer<Meter> seriesAddedHandler = meter -> {};
+  private volatile Consumer<Meter> seriesRemovedHandler = meter -> {};
+
+  public MeterCache(MeterRegistry registry, boolean enabled, int maxSize) {
+    this(registry, enabled, maxSize, Set.of());
+  }
+
+  public MeterCache(MeterRegistry registry, boolean enabled, int maxSize, Set<String> expirableLabels) {
+    this.registry = registry;
+    this.enabled = enabled;
+    this.maxSize = maxSize;
+    this.expirableLabels = expirableLabels;
+    this.removals = new AtomicInteger();
+    this.expirations = new AtomicInteger();
+    this.expiring = ConcurrentHashMap.newKeySet();
+    this.references = new ConcurrentHashMap<>();
+    this.caches = new ConcurrentLinkedQueue<>();
+    if (enabled) {
+      synchronized (cachesByRegistry) {
+        cachesByRegistry.computeIfAbsent(registry, MeterCache::addRemovalListener).add(this);
+      }
+    }
+  }
+
+  private static Set<MeterCache> addRemovalListener(MeterRegistry registry) {
+    // Weak references, so that a cache that is not closed does not keep the registry reachable
+    Set<MeterCache> caches = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    registry.config().onMeterRemoved(meter -> {
+      MeterCache[] snapshot;
+      synchronized (caches) {
+        snapshot = caches.toArray(new MeterCache[0]);
+      }
+      for (MeterCache cache : snapshot) {
+        cache.meterRemoved(meter);
+      }
+    });
+    return caches;
+  }
+
+  private void meterRemoved(Meter meter) {
+    // Meters removed by eviction or idle expiry are not cached anymore, no need to invalidate the other ones
+    if (!expiring.remove(meter.getId())) {
+      removals.incrementAndGet();
+    }
+  }
+
+  /**
+   * Stop tracking the removal of meters from the registry.
+   */
+  public void close() {
+    synchronized (cachesByRegistry) {
+      Set<MeterCache> caches = cachesByRegistry.get(registry);
+      if (caches != null) {
+        caches.remove(this);
+      }
+    }
+  }
+
+  public <T extends Meter> Meter.MeterProvider<T> provider(Meter.MeterProvider<T> delegate) {
+    return provider(delegate, null);
+  }
+
+  /**
+   * @param filter the tags accepted by the provider, other tags get a no-op meter without querying the registry, or
+   * {@code null} to accept all tags. With the cache enabled, it is only evaluated for the tags that are not cached yet.
+   */
+  public <T extends Meter> Meter.MeterProvider<T> provider(Meter.MeterProvider<T> delegate,
+                                                           Predicate<Iterable<Tag>> filter) {
+    Meter.MeterProvider<T> filtered = filter == null ? delegate : new FilteredMeterProvider<>(delegate, filter);
+    if (!enabled) {
+      return filtered;
+    }
+    CachedMeterProvider<T> provider = new CachedMeterProvider<>(filtered, this, maxSize);
+    track(provider.meters);
+    return provider;
+  }
+
+  public LongGaugeProvider provider(LongGaugeProvider delegate) {
+    return provider(delegate, null);
+  }
+
+  /**
+   * @param filter the tags accepted by the provider, other tags get an adder that is not backed by a gauge, or
+   * {@code null} to accept all tags. With the cache enabled, it is only evaluated for the tags that are not cached yet.
+   */
+  public LongGaugeProvider provider(LongGaugeProvider delegate, Predicate<Iterable<Tag>> filter) {
+    if (!enabled || !(delegate instanceof LongGaugeBuilder.Registration)) {
+      return filter == null ? delegate : new FilteredLongGaugeProvider(delegate, filter);
+    }
+    LongGaugeBuilder.Registration registration = (LongGaugeBuilder.Registration) delegate;
+    CachedLongGaugeProvider provider = new CachedLongGaugeProvider(registration, filter, this, maxSize);
+    track(provider.series);
+    return provider;
+  }
+
+  /**
+   * @return a handle to the meter of {@code provider} with the given tags, to be held instead of the meter so that it
+   * is resolved again when idle series expiry or eviction removed it
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Meter> Supplier<T> handle(Meter.MeterProvider<T> provider, Tags tags) {
+    if (provider instanceof CachedMeterProvider) {
+      return ((CachedMeterProvider<T>) provider).handle(tags);
+    }
+    T meter = provider.withTags(tags);
+    return () -> meter;
+  }
+
+  /**
+   * @return a handle to the gauge adder of {@code provider} with the given tags, to be held instead of the adder so
+   * that it is resolved again when idle series expiry or eviction removed it
+   */
+  public Supplier<LongAdder> handle(LongGaugeProvider provider, Tags tags) {
+    if (provider instanceof CachedLongGaugeProvider) {
+      return ((CachedLongGaugeProvider) provider).handle(tags);
+    }
+    LongAdder adder = provider.withTags(tags);
+    return () -> adder;
+  }
+
+  private void track(TagsCache<?> cache) {
+    if (!expirableLabels.isEmpty()) {
+      caches.add(new WeakReference<>(cache));
+    }
+  }
+
+  /**
+   * Remove idle series from the caches and from the registry.
+   */
+  public void expireIdleSeries() {
+    for (Iterator<WeakReference<TagsCache<?>>> iterator = caches.iterator(); iterator.hasNext(); ) {
+      TagsCache<?> cache = iterator.next().get();
+      if (cache == null) {
+        iterator.remove();
+      } else {
+        cache.expireIdle();
+      }
+    }
+  }
+
+  /**
+   * Set the handler notified when a meter is held by a first entry of the caches, i.e. when a series is added.
+   */
+  public void seriesAddedHandler(Consumer<Meter> handler) {
+    seriesAddedHandler = handler;
+  }
+
+  /**
+   * Set the handler notified when the last entry holding a meter is removed from the caches, e.g. by eviction or idle
+   * expiry. Each meter notified to the {@link #seriesAddedHandler(Consumer) added handler} is notified once to this
+   * handler before it can be added again.
+   */
+  public void seriesRemovedHandler(Consumer<Meter> handler) {
+    seriesRemovedHandler = handler;
+  }
+
+  int removals() {
+    return removals.get();
+  }
+
+  int expirations() {
+    return expirations.get();
+  }
+
+  boolean isExpirable(Tags tags) {
+    if (!expirableLabels.isEmpty()) {
+      for (Tag tag : tags) {
+        if (expirableLabels.contains(tag.getKey())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  void retain(Meter meter) {
+    if (meter == null) {
+      // Gauge denied by the provider filter
+      return;
+    }
+    if (references.merge(meter.getId(), 1, Integer::sum) == 1) {
+      seriesAddedHandler.accept(meter);
+    }
+  }
+
+  /**
+   * Drop a reference to the meter, and when it was the last one and {@code remove} is {@code true}, remove the meter
+   * from the registry. The removal is done while holding the count, so that it cannot race with {@link #retain(Meter)}.
+   */
+  void release(Meter meter, boolean remove) {
+    if (meter == null) {
+      return;
+    }
+    boolean[] released = new boolean[1];
+    references.computeIfPresent(meter.getId(), (id, count) -> {
+      if (count > 1) {
+        return count - 1;
+      }
+      if (remove) {
+        expire(meter);
+      }
+      released[0] = true;
+      return null;
+    });
+    if (released[0]) {
+      seriesRemovedHandler.accept(meter);
+    }
+  }
+
+  private void expire(Meter meter) {
+    Meter.Id id = meter.getId();
+    expirations.incrementAndGet();
+    expiring.add(id);
+    if (registry.remove(meter) == null) {
+      expiring.remove(id);
+    }
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.impl.meters;
+
+import io.vertx.core.Context;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.Cleaner;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link LongAdder} giving each event-loop thread a slot of its own, on a separate cache line.
+ * <p>
+ * A slot has a single writer, so it is updated with a plain read and an opaque write instead of a CAS. The stripe of
+ * a thread that is gone is recycled: the first update of the next thread taking the stripe over is an atomic addition,
+ * which reads the last value written by the previous owner of the slot.
+ * Slots are summed when the value is read. Other threads, and event-loop threads started once all the {@link Stripes}
+ * are taken, fall back to the inherited {@link LongAdder} cells.
+ * <p>
+ * Like {@link LongAdder}, {@link #reset()} and {@link #sumThenReset()} are only exact when there is no concurrent
+ * update.
+ */
+public class StripedLongAdder extends LongAdder {
+
+  private static final Stripe NO_STRIPE = new Stripe(-1);
+
+  private static final Cleaner CLEANER = Cleaner.create();
+
+  private static final VarHandle SLOTS;
+  private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Slot[].class);
+  private static final VarHandle VALUE;
+
+  static {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      SLOTS = lookup.findVarHandle(StripedLongAdder.class, "slots", Slot[].class);
+      VALUE = lookup.findVarHandle(Slot.class, "value", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * Assigns stripe indexes to event-loop threads, up to the size of the event-loop pool of a Vert.x instance.
+   * The index of a thread is recycled once the thread is gone.
+   */
+  public static class Stripes {
+
+    private final int size;
+    private final AtomicInteger next;
+    private final Queue<Integer> recycled;
+    private final ThreadLocal<Stripe> stripe;
+
+    public Stripes(int size) {
+      this.size = size;
+      this.next = new AtomicInteger();
+      this.recycled = new ConcurrentLinkedQueue<>();
+      this.stripe = ThreadLocal.withInitial(this::assign);
+    }
+
+    private Stripe get() {
+      return stripe.get();
+    }
+
+    /**
+     * @return the number of stripes released by threads that are gone, and not taken over yet
+     */
+    public int recycled() {
+      return recycled.size();
+    }
+
+    private Stripe assign() {
+      if (!Context.isOnEventLoopThread()) {
+        return NO_STRIPE;
+      }
+      Integer index = recycled.poll();
+      if (index == null) {
+        int n = next.getAndUpdate(i -> i < size ? i + 1 : i);
+        if (n >= size) {
+          return NO_STRIPE;
+        }
+        index = n;
+      }
+      // The action must not reference the thread. It runs once the thread is unreachable, which does not order the
+      // last updates of the thread before the updates of the next owner: the next owner claims the slots atomically
+      Queue<Integer> queue = recycled;
+      Integer recycledIndex = index;
+      CLEANER.register(Thread.currentThread(), () -> queue.add(recycledIndex));
+      return new Stripe(index);
+    }
+  }
+
+  // The assignment of a stripe index to a thread, a recycled index is assigned to the next thread with a new instance
+  private static final class Stripe {
+
+    final int index;
+
+    Stripe(int index) {
+      this.index = index;
+    }
+  }
+
+  private final Stripes stripes;
+  // Allocated on the first update from an event-loop thread, and each slot on the first update from its thread
+  private volatile Slot[] slots;
+
+  public StripedLongAdder(Stripes stripes) {
+    this.stripes = stripes;
+  }
+
+  @Override
+  public void add(long x) {
+    Stripe stripe = stripes.get();
+    if (stripe == NO_STRIPE) {
+      super.add(x);
+      return;
+    }
+    Slot[] s = slots;
+    if (s == null) {
+      s = allocateSlots();
+    }
+    Slot slot = s[stripe.index];
+    if (slot == null) {
+      slot = allocateSlot(s, stripe.index);
+    }
+    if (slot.owner == stripe) {
+      VALUE.setOpaque(slot, slot.value + x);
+    } else {
+      // First update from this thread, the slot may have been updated by the previous owner of the stripe
+      VALUE.getAndAdd(slot, x);
+      slot.owner = stripe;
+    }
+  }
+
+  private Slot[] allocateSlots() {
+    Slot[] s = new Slot[stripes.size];
+    Slot[] witness = (Slot[]) SLOTS.compareAndExchange(this, null, s);
+    return witness != null ? witness : s;
+  }
+
+  private static Slot allocateSlot(Slot[] s, int stripe) {
+    // A recycled stripe may already have a slot, allocated by a thread that is gone
+    Slot slot = new Slot();
+    Slot witness = (Slot) SLOT.compareAndExchange(s, stripe, null, slot);
+    return witness != null ? witness : slot;
+  }
+
+  @Override
+  public long sum() {
+    long sum = super.sum();
+    Slot[] s = slots;
+    if (s != null) {
+      for (int i = 0; i < s.length; i++) {
+        Slot slot = (Slot) SLOT.getAcquire(s, i);
+        if (slot != null) {
+          sum += (long) VALUE.getOpaque(slot);
+        }
+      }
+    }
+    return sum;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    Slot[] s = slots;
+    if (s != null) {
+      for (int i = 0; i < s.length; i++) {
+        Slot slot = (Slot) SLOT.getAcquire(s, i);
+        if (slot != null) {
+          VALUE.setOpaque(slot, 0L);
+        }
+      }
+    }
+  }
+
+  @Override
+  public long sumThenReset() {
+    long sum = super.sumThenReset();
+    Slot[] s = slots;
+    if (s != null) {
+      for (int i = 0; i < s.length; i++) {
+        Slot slot = (Slot) SLOT.getAcquire(s, i);
+        if (slot != null) {
+          sum += (long) VALUE.getAndSet(slot, 0L);
+        }
+      }
+    }
+    return sum;
+  }
+
+  // Padded on both sides of the value, so that slots updated by different threads do not share a cache line
+  @SuppressWarnings("unused")
+  private static final class Slot {
+    long p1, p2, p3, p4, p5, p6, p7;
+    long value;
+    // Written by the thread owning the stripe, a thread taking a recycled stripe over may read a previous owner
+    Stripe owner;
+    long q1, q2, q3, q4, q5, q6, q7;
+  }
+}
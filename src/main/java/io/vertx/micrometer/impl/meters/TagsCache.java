@@ -0,0 +1,246 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.impl.meters;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded map of values resolved for a set of tags, invalidated when a meter is removed from the registry.
+ */
+class TagsCache<T> {
+
+  private final MeterCache owner;
+  private final int maxSize;
+  private final Function<T, Meter> meterFunction;
+  private final Predicate<T> idlePredicate;
+  private final Consumer<T> reviver;
+  private final ConcurrentMap<Tags, Entry<T>> values;
+  // Values removed while idle, which may still be updated by a thread that looked them up before the removal
+  private final ConcurrentMap<Tags, Entry<T>> retired;
+  private volatile int generation;
+
+  TagsCache(MeterCache owner, int maxSize, Function<T, Meter> meterFunction, Predicate<T> idlePredicate) {
+    this(owner, maxSize, meterFunction, idlePredicate, null);
+  }
+
+  /**
+   * @param reviver invoked with a removed value before the value of the same tags is resolved again, so that the
+   *                updates made to the removed value after it was found idle are not lost
+   */
+  TagsCache(MeterCache owner, int maxSize, Function<T, Meter> meterFunction, Predicate<T> idlePredicate,
+            Consumer<T> reviver) {
+    this.owner = owner;
+    this.maxSize = maxSize;
+    this.meterFunction = meterFunction;
+    this.idlePredicate = idlePredicate;
+    this.reviver = reviver;
+    this.values = new ConcurrentHashMap<>();
+    this.retired = reviver != null ? new ConcurrentHashMap<>() : null;
+    this.generation = owner.removals();
+  }
+
+  T computeIfAbsent(Tags key, Function<Tags, T> resolver) {
+    return entry(key, resolver).touch();
+  }
+
+  /**
+   * @return a handle to the value resolved for {@code key}, which is looked up again only after its entry was removed
+   */
+  Supplier<T> handle(Tags key, Function<Tags, T> resolver) {
+    return new Handle(key, resolver);
+  }
+
+  private Entry<T> entry(Tags key, Function<Tags, T> resolver) {
+    int current = owner.removals();
+    if (current != generation) {
+      // Some meter has been removed from the registry, cached instances may not be registered anymore
+      clear();
+      generation = current;
+    }
+    Entry<T> entry = values.get(key);
+    if (entry == null) {
+      entry = add(key, resolver);
+    }
+    return entry;
+  }
+
+  private Entry<T> add(Tags key, Function<Tags, T> resolver) {
+    if (retired != null) {
+      Entry<T> previous = retired.remove(key);
+      if (previous != null) {
+        reviver.accept(previous.value);
+      }
+    }
+    int removals = owner.removals();
+    int expirations = owner.expirations();
+    T value = resolver.apply(key);
+    Meter meter = meterFunction.apply(value);
+    owner.retain(meter);
+    if (owner.expirations() != expirations) {
+      // The meter may have been removed from the registry before it was retained, resolve it again
+      value = resolver.apply(key);
+    }
+    Entry<T> entry = new Entry<>(value, owner.isExpirable(key));
+    if (values.size() >= maxSize) {
+      evictOne();
+    }
+    Entry<T> previous = values.putIfAbsent(key, entry);
+    if (previous != null) {
+      // Added concurrently, the previous entry holds a reference as well
+      owner.release(meter, false);
+      return previous;
+    }
+    if (owner.removals() != removals) {
+      // The meter may have been removed from the registry before the entry was added, and the cache cleared already
+      if (values.remove(key, entry)) {
+        entry.removed = true;
+        owner.release(meter, false);
+      }
+      return entry(key, resolver);
+    }
+    return entry;
+  }
+
+  private void clear() {
+    for (Map.Entry<Tags, Entry<T>> mapEntry : values.entrySet()) {
+      Entry<T> entry = mapEntry.getValue();
+      if (values.remove(mapEntry.getKey(), entry)) {
+        entry.removed = true;
+        owner.release(meterFunction.apply(entry.value), false);
+      }
+    }
+  }
+
+  /**
+   * Remove an idle entry, along with its meter unless it is shared with another entry. Gauges with a non-zero value
+   * are not evicted: when all the entries are such gauges, the new entry is added over the limit.
+   */
+  private void evictOne() {
+    if (retired != null && retired.size() >= maxSize) {
+      retired.values().removeIf(entry -> idlePredicate.test(entry.value));
+    }
+    for (Map.Entry<Tags, Entry<T>> mapEntry : values.entrySet()) {
+      Entry<T> entry = mapEntry.getValue();
+      if (idlePredicate.test(entry.value) && remove(mapEntry.getKey(), entry)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Remove the expirable entries that have not been used since the previous invocation and that are idle, along with
+   * their meter unless it is shared with another entry.
+   */
+  void expireIdle() {
+    if (retired != null) {
+      // Updates to a retired value happen right after it was looked up, keep it for one more invocation at least
+      for (Map.Entry<Tags, Entry<T>> mapEntry : retired.entrySet()) {
+        Entry<T> entry = mapEntry.getValue();
+        if (entry.touched) {
+          entry.touched = false;
+        } else if (idlePredicate.test(entry.value)) {
+          retired.remove(mapEntry.getKey(), entry);
+        }
+      }
+    }
+    for (Map.Entry<Tags, Entry<T>> mapEntry : values.entrySet()) {
+      Entry<T> entry = mapEntry.getValue();
+      if (!entry.expirable || entry.touched || !idlePredicate.test(entry.value)) {
+        entry.touched = false;
+      } else {
+        remove(mapEntry.getKey(), entry);
+      }
+    }
+  }
+
+  /**
+   * Remove an entry found idle. The value may have been updated by a thread that looked it up before it was marked as
+   * removed: it is checked again afterwards, and the meter is kept in the registry if it is not idle anymore. Otherwise
+   * the value is retired, for the reviver to carry over any later update to the value resolved next for the same tags.
+   */
+  private boolean remove(Tags key, Entry<T> entry) {
+    if (!values.remove(key, entry)) {
+      return false;
+    }
+    entry.removed = true;
+    Meter meter = meterFunction.apply(entry.value);
+    if (!idlePredicate.test(entry.value)) {
+      owner.release(meter, false);
+    } else {
+      if (retired != null) {
+        entry.touched = true;
+        retired.put(key, entry);
+      }
+      owner.release(meter, true);
+    }
+    return true;
+  }
+
+  private static class Entry<T> {
+
+    final T value;
+    final boolean expirable;
+    volatile boolean touched;
+    volatile boolean removed;
+
+    Entry(T value, boolean expirable) {
+      this.value = value;
+      this.expirable = expirable;
+      this.touched = true;
+    }
+
+    T touch() {
+      if (!touched) {
+        touched = true;
+      }
+      return value;
+    }
+  }
+
+  private class Handle implements Supplier<T> {
+
+    private final Tags key;
+    private final Function<Tags, T> resolver;
+    private Entry<T> entry;
+
+    Handle(Tags key, Function<Tags, T> resolver) {
+      this.key = key;
+      this.resolver = resolver;
+      this.entry = entry(key, resolver);
+    }
+
+    @Override
+    public T get() {
+      Entry<T> e = entry;
+      if (e.removed || owner.removals() != generation) {
+        e = entry(key, resolver);
+        entry = e;
+      }
+      return e.touch();
+    }
+  }
+}
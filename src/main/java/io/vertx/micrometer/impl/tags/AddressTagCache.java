@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertx.micrometer.impl.tags;
+
+import io.micrometer.core.instrument.Tag;
+import io.vertx.core.net.SocketAddress;
+
+import java.util.function.Function;
+
+/**
+ * Bounded cache of the tags computed for socket addresses, keyed by identity.
+ * <p>
+ * A connection returns the same {@link SocketAddress} instance for all its requests, so the tag is computed once per
+ * connection, unless its slot is taken over by another connection in the meantime. Lookups do not allocate.
+ */
+public class AddressTagCache {
+
+  private static final int SIZE = 256;
+
+  private final Function<SocketAddress, Tag> function;
+  // Entries are immutable, so they can be published without synchronization
+  private final Entry[] entries;
+
+  public AddressTagCache(Function<SocketAddress, Tag> function) {
+    this.function = function;
+    this.entries = new Entry[SIZE];
+  }
+
+  public Tag get(SocketAddress address) {
+    int idx = System.identityHashCode(address) & (SIZE - 1);
+    Entry entry = entries[idx];
+    if (entry != null && entry.address == address) {
+      return entry.tag;
+    }
+    Tag tag = function.apply(address);
+    entries[idx] = new Entry(address, tag);
+    return tag;
+  }
+
+  private static class Entry {
+
+    final SocketAddress address;
+    final Tag tag;
+
+    Entry(SocketAddress address, Tag tag) {
+      this.address = address;
+      this.tag = tag;
+    }
+  }
+}
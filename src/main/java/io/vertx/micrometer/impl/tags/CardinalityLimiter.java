@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.impl.tags;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of distinct values of a label. Once the limit is reached, new values are replaced with {@link #OTHER}.
+ * <p>
+ * The series tagged with a value are counted with {@link #retain(String)} and {@link #release(String)}: once none is
+ * left, the value is forgotten, so that another value takes its slot.
+ */
+public class CardinalityLimiter {
+
+  /**
+   * The value used in place of the values exceeding the limit.
+   */
+  public static final String OTHER = "_other";
+
+  /**
+   * A limiter that keeps all values.
+   */
+  public static final CardinalityLimiter UNLIMITED = new CardinalityLimiter(0, null);
+
+  private final int limit;
+  private final Runnable onCollapsed;
+  // Number of series tagged with each admitted value
+  private final ConcurrentMap<String, Integer> values;
+  private final AtomicInteger size;
+
+  /**
+   * @param limit the maximum number of distinct values, or {@code 0} for no limit
+   * @param onCollapsed invoked each time a value is replaced with {@link #OTHER}
+   */
+  public CardinalityLimiter(int limit, Runnable onCollapsed) {
+    this.limit = limit;
+    this.onCollapsed = onCollapsed;
+    this.values = limit > 0 ? new ConcurrentHashMap<>() : null;
+    this.size = new AtomicInteger();
+  }
+
+  /**
+   * @return {@code value} if it is known or the limit is not reached yet, {@link #OTHER} otherwise
+   */
+  public String apply(String value) {
+    if (limit <= 0 || values.containsKey(value)) {
+      return value;
+    }
+    if (size.get() < limit) {
+      if (size.incrementAndGet() <= limit) {
+        if (values.putIfAbsent(value, 0) != null) {
+          // Added concurrently
+          size.decrementAndGet();
+        }
+        return value;
+      }
+      size.decrementAndGet();
+    }
+    onCollapsed.run();
+    return OTHER;
+  }
+
+  /**
+   * Count a series tagged with an admitted value. Values replaced with {@link #OTHER} are ignored.
+   */
+  public void retain(String value) {
+    if (limit > 0) {
+      values.computeIfPresent(value, (v, series) -> series + 1);
+    }
+  }
+
+  /**
+   * Uncount a series tagged with the value, and release the slot of the value when it was the last one.
+   */
+  public void release(String value) {
+    if (limit <= 0) {
+      return;
+    }
+    boolean[] released = new boolean[1];
+    values.computeIfPresent(value, (v, series) -> {
+      if (series > 1) {
+        return series - 1;
+      }
+      if (series == 0) {
+        // Admitted again after its last series was released, its series are not created yet
+        return 0;
+      }
+      released[0] = true;
+      return null;
+    });
+    if (released[0]) {
+      size.decrementAndGet();
+    }
+  }
+}
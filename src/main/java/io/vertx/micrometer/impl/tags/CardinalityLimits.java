@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.impl.tags;
+
+import io.micrometer.core.instrument.Meter;
+import io.vertx.micrometer.Label;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Holds the {@link CardinalityLimiter} of each label, per metrics domain, so that they are shared by all the metrics
+ * objects of a domain.
+ * <p>
+ * The series of each limited label value are counted as they are added to and removed from the meter cache, e.g. by
+ * idle expiry, so that the values no series of the domain uses anymore are released.
+ */
+public class CardinalityLimits {
+
+  private final int limit;
+  private final Map<String, Integer> limits;
+  private final ConcurrentMap<String, Limited> limiters;
+
+  /**
+   * @param limit the maximum number of distinct values per label and domain, or {@code 0} for no limit
+   */
+  public CardinalityLimits(int limit) {
+    this(limit, Map.of());
+  }
+
+  /**
+   * @param limit the maximum number of distinct values per label and domain, or {@code 0} for no limit
+   * @param limits the limits overriding {@code limit}, keyed by {@code <domain category>/<label>}
+   */
+  public CardinalityLimits(int limit, Map<String, Integer> limits) {
+    this.limit = limit;
+    this.limits = limits;
+    this.limiters = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * @param category the metrics domain category
+   * @param label the limited label
+   * @param onCollapsed creates the callback invoked each time a value is replaced, when the limiter is created
+   * @return the limiter of the label in this domain
+   */
+  public CardinalityLimiter limiter(String category, Label label, Function<Label, Runnable> onCollapsed) {
+    String key = category + "/" + label;
+    int max = limits.getOrDefault(key, limit);
+    if (max <= 0) {
+      return CardinalityLimiter.UNLIMITED;
+    }
+    return limiters.computeIfAbsent(key,
+      k -> new Limited(category, label, new CardinalityLimiter(max, onCollapsed.apply(label)))).limiter;
+  }
+
+  /**
+   * Count a series added to the meter cache against its limited label values.
+   */
+  public void seriesAdded(Meter meter) {
+    Meter.Id id = meter.getId();
+    for (Limited limited : limiters.values()) {
+      String value = limited.value(id);
+      if (value != null) {
+        limited.limiter.retain(value);
+      }
+    }
+  }
+
+  /**
+   * Uncount a series removed from the meter cache, releasing the limited label values no other series uses.
+   */
+  public void seriesRemoved(Meter meter) {
+    Meter.Id id = meter.getId();
+    for (Limited limited : limiters.values()) {
+      String value = limited.value(id);
+      if (value != null) {
+        limited.limiter.release(value);
+      }
+    }
+  }
+
+  private static class Limited {
+
+    final String namePrefix;
+    final String tagKey;
+    final CardinalityLimiter limiter;
+
+    Limited(String category, Label label, CardinalityLimiter limiter) {
+      this.namePrefix = "vertx." + category + ".";
+      this.tagKey = label.toString();
+      this.limiter = limiter;
+    }
+
+    String value(Meter.Id id) {
+      return id.getName().startsWith(namePrefix) ? id.getTag(tagKey) : null;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertx.micrometer.impl.tags;
+
+import java.util.function.Predicate;
+
+/**
+ * A glob pattern, where {@code *} matches any sequence of characters and {@code ?} matches any single character.
+ */
+class Glob implements Predicate<String> {
+
+  private final String pattern;
+
+  Glob(String pattern) {
+    this.pattern = pattern;
+  }
+
+  @Override
+  public boolean test(String value) {
+    int p = 0, v = 0;
+    // Position after the last star, and value position it was matched up to, to backtrack on mismatch
+    int star = -1, starValue = 0;
+    while (v < value.length()) {
+      if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == value.charAt(v))) {
+        p++;
+        v++;
+      } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+        star = ++p;
+        starValue = v;
+      } else if (star >= 0) {
+        p = star;
+        v = ++starValue;
+      } else {
+        return false;
+      }
+    }
+    while (p < pattern.length() && pattern.charAt(p) == '*') {
+      p++;
+    }
+    return p == pattern.length();
+  }
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertx.micrometer.impl.tags;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterReply;
+import io.vertx.micrometer.Match;
+import io.vertx.micrometer.MatchType;
+import io.vertx.micrometer.MetricsDomain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A single {@link MeterFilter} evaluating a list of {@link Match} rules.
+ * <p>
+ * The result is the same as registering one filter per rule, in order: rules with an alias replace label values,
+ * {@link MatchType#EQUALS} rules without alias deny meters whose label value differs, and rules of other types without
+ * alias accept meters whose label value matches, and deny the others. Rules restricted to a domain only apply to meters
+ * of that domain, except that a rule without alias, other than {@link MatchType#EQUALS}, accepts any meter outside its
+ * domain. Successive {@link MatchType#PREFIX} rules without alias for the same label and domain act as a single rule
+ * accepting any of their prefixes.
+ * <p>
+ * The rules are compiled for each domain: the meter domain is resolved once, in a single pass over the meter name
+ * through a trie of the domain prefixes, then label values are replaced and checked through hash lookups on the label
+ * key. Successive {@link MatchType#EQUALS} aliases for a label are merged into a single map, successive
+ * {@link MatchType#REGEX} aliases to the same value are merged into a single pattern, and successive
+ * {@link MatchType#PREFIX} rules are evaluated together through a trie.
+ * <p>
+ * Regular expression results are memoized per label value. The memo statistics are published as {@code cache.*} meters
+ * when bound to a registry.
+ */
+public class LabelMatchers extends MeterFilter implements MeterBinder {
+
+  public static final int DEFAULT_REGEX_MEMO_SIZE = 1024;
+
+  private static final String CACHE_NAME = "vertx.label.matches";
+
+  private final int memoSize;
+  private final RegexMemo.Stats memoStats;
+  private final List<RegexMemo> memos;
+  // Indexed by domain ordinal, null for the domains without specific rules
+  private final Rules[] domainRules;
+  private final PrefixTrie domainPrefixes;
+  private final Rules otherRules;
+
+  public LabelMatchers(List<Match> matches) {
+    this(matches, DEFAULT_REGEX_MEMO_SIZE);
+  }
+
+  public LabelMatchers(List<Match> matches, int memoSize) {
+    this.memoSize = memoSize;
+    memoStats = new RegexMemo.Stats();
+    memos = new ArrayList<>();
+    // Compile all patterns upfront, so that invalid ones are reported even if they are never evaluated
+    List<RegexMemo> regexes = new ArrayList<>(matches.size());
+    for (Match match : matches) {
+      regexes.add(match.getType() == MatchType.REGEX ? memo(Pattern.compile(match.getValue())) : null);
+    }
+    domainRules = new Rules[MetricsDomain.values().length];
+    domainPrefixes = new PrefixTrie();
+    for (Match match : matches) {
+      MetricsDomain domain = match.getDomain();
+      if (domain != null && domainRules[domain.ordinal()] == null) {
+        domainRules[domain.ordinal()] = new Rules(domain, matches, regexes);
+        domainPrefixes.add(domain.getPrefix(), domain.ordinal());
+      }
+    }
+    otherRules = new Rules(null, matches, regexes);
+  }
+
+  /**
+   * @return true if results of regular expressions are memoized
+   */
+  public boolean hasMemos() {
+    return !memos.isEmpty();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("cache.gets", memoStats, stats -> stats.hits.sum())
+      .description("Number of label value lookups in the memo of regular expression match results")
+      .tags("cache", CACHE_NAME, "result", "hit")
+      .register(registry);
+    FunctionCounter.builder("cache.gets", memoStats, stats -> stats.misses.sum())
+      .description("Number of label value lookups in the memo of regular expression match results")
+      .tags("cache", CACHE_NAME, "result", "miss")
+      .register(registry);
+    FunctionCounter.builder("cache.evictions", memoStats, stats -> stats.evictions.sum())
+      .description("Number of memoized regular expression match results evicted")
+      .tags("cache", CACHE_NAME)
+      .register(registry);
+    Gauge.builder("cache.size", this, LabelMatchers::memoizedValues)
+      .description("Number of memoized regular expression match results")
+      .tags("cache", CACHE_NAME)
+      .register(registry);
+  }
+
+  private synchronized RegexMemo memo(Pattern pattern) {
+    RegexMemo memo = new RegexMemo(pattern, memoSize, memoStats);
+    memos.add(memo);
+    return memo;
+  }
+
+  private synchronized double memoizedValues() {
+    long size = 0;
+    for (RegexMemo memo : memos) {
+      size += memo.size();
+    }
+    return size;
+  }
+
+  @Override
+  public Meter.Id map(Meter.Id id) {
+    Rules rules = rules(id.getName());
+    if (rules.aliases.isEmpty()) {
+      return id;
+    }
+    List<Tag> tags = new ArrayList<>();
+    boolean replaced = false;
+    for (Tag tag : id.getTagsAsIterable()) {
+      AliasChain chain = rules.aliases.get(tag.getKey());
+      if (chain != null) {
+        String value = chain.apply(tag.getValue());
+        if (!value.equals(tag.getValue())) {
+          tag = Tag.of(tag.getKey(), value);
+          replaced = true;
+        }
+      }
+      tags.add(tag);
+    }
+    return replaced ? id.replaceTags(tags) : id;
+  }
+
+  @Override
+  public MeterFilterReply accept(Meter.Id id) {
+    return rules(id.getName()).accept(id.getTagsAsIterable(), true);
+  }
+
+  /**
+   * Create a predicate evaluating the rules on the tags of meters named with the given base name, before the tags are
+   * replaced with their aliases. This allows to skip denied meters before they are looked up in a registry.
+   *
+   * @param baseName the base name of the meters
+   * @return the predicate, or {@code null} if the rules cannot deny any of these meters
+   */
+  public Predicate<Iterable<Tag>> tagsFilter(String baseName) {
+    Rules rules = baseName == null ? otherRules : rules(baseName);
+    if (!rules.canDeny()) {
+      return null;
+    }
+    return tags -> rules.accept(tags, false) != MeterFilterReply.DENY;
+  }
+
+  private Rules rules(String name) {
+    // Domain prefixes do not start one another, so at most one matches
+    int domain = domainPrefixes.firstMatch(name, 0);
+    return domain < 0 ? otherRules : domainRules[domain];
+  }
+
+  /**
+   * The rules applying to the meters of a domain, or to meters outside of any domain having specific rules.
+   */
+  private class Rules {
+
+    final Map<String, AliasChain> aliases;
+    final String[] requiredLabels;
+    final String[] requiredValues;
+    final boolean denyAll;
+    final MeterFilterReply terminalReply;
+    final String terminalLabel;
+    final Predicate<String> terminalMatcher;
+
+    Rules(MetricsDomain domain, List<Match> matches, List<RegexMemo> regexes) {
+      Map<String, AliasChain> aliases = new HashMap<>();
+      Map<String, String> required = new LinkedHashMap<>();
+      boolean denyAll = false;
+      MeterFilterReply terminalReply = MeterFilterReply.NEUTRAL;
+      String terminalLabel = null;
+      Predicate<String> terminalMatcher = null;
+      for (int i = 0; i < matches.size(); i++) {
+        Match match = matches.get(i);
+        boolean applies = match.getDomain() == null || match.getDomain() == domain;
+        if (match.getAlias() != null) {
+          if (applies) {
+            aliases.computeIfAbsent(match.getLabel(), k -> new AliasChain()).add(match, regexes.get(i));
+          }
+        } else if (terminalReply == MeterFilterReply.NEUTRAL) {
+          if (match.getType() == MatchType.EQUALS) {
+            if (applies) {
+              String previous = required.putIfAbsent(match.getLabel(), match.getValue());
+              // A label cannot be equal to two different values
+              denyAll |= previous != null && !previous.equals(match.getValue());
+            }
+          } else {
+            // Other rules always reply, the next rules are never evaluated
+            terminalReply = MeterFilterReply.ACCEPT;
+            if (applies) {
+              terminalLabel = match.getLabel();
+              terminalMatcher = matcher(matches, i, regexes.get(i));
+            }
+          }
+        }
+      }
+      this.aliases = aliases;
+      this.requiredLabels = required.keySet().toArray(new String[0]);
+      this.requiredValues = required.values().toArray(new String[0]);
+      this.denyAll = denyAll;
+      this.terminalReply = terminalReply;
+      this.terminalLabel = terminalLabel;
+      this.terminalMatcher = terminalMatcher;
+    }
+
+    private Predicate<String> matcher(List<Match> matches, int idx, RegexMemo regex) {
+      Match match = matches.get(idx);
+      switch (match.getType()) {
+        case REGEX:
+          return regex::matches;
+        case PREFIX:
+          // The successive prefix rules of the same label and domain are evaluated together
+          PrefixTrie trie = new PrefixTrie();
+          for (int i = idx; i < matches.size(); i++) {
+            Match other = matches.get(i);
+            if (other.getAlias() != null) {
+              continue;
+            }
+            if (other.getType() != MatchType.PREFIX || !other.getLabel().equals(match.getLabel())
+              || !Objects.equals(other.getDomain(), match.getDomain())) {
+              break;
+            }
+            trie.add(other.getValue(), i);
+          }
+          return trie::matches;
+        default:
+          return valueMatcher(match);
+      }
+    }
+
+    boolean canDeny() {
+      return denyAll || requiredLabels.length > 0 || terminalMatcher != null;
+    }
+
+    MeterFilterReply accept(Iterable<Tag> tags, boolean aliased) {
+      if (denyAll) {
+        return MeterFilterReply.DENY;
+      }
+      for (int i = 0; i < requiredLabels.length; i++) {
+        if (!requiredValues[i].equals(value(tags, requiredLabels[i], aliased))) {
+          return MeterFilterReply.DENY;
+        }
+      }
+      if (terminalMatcher != null) {
+        String value = value(tags, terminalLabel, aliased);
+        return value != null && terminalMatcher.test(value) ? MeterFilterReply.ACCEPT : MeterFilterReply.DENY;
+      }
+      return terminalReply;
+    }
+
+    private String value(Iterable<Tag> tags, String label, boolean aliased) {
+      for (Tag tag : tags) {
+        if (tag.getKey().equals(label)) {
+          AliasChain chain = aliased ? null : aliases.get(label);
+          return chain == null ? tag.getValue() : chain.apply(tag.getValue());
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * The successive replacements of the values of a label.
+   */
+  private class AliasChain {
+
+    final List<AliasStep> steps = new ArrayList<>();
+
+    void add(Match match, RegexMemo regex) {
+      AliasStep last = steps.isEmpty() ? null : steps.get(steps.size() - 1);
+      if (match.getType() == MatchType.EQUALS) {
+        if (last instanceof EqualsAliases) {
+          ((EqualsAliases) last).add(match.getValue(), match.getAlias());
+        } else {
+          EqualsAliases step = new EqualsAliases();
+          step.add(match.getValue(), match.getAlias());
+          steps.add(step);
+        }
+      } else if (match.getType() == MatchType.REGEX) {
+        if (last instanceof RegexAlias && ((RegexAlias) last).canMerge(regex.pattern(), match.getAlias())) {
+          Pattern merged = ((RegexAlias) last).merge(regex.pattern());
+          steps.set(steps.size() - 1, new RegexAlias(memo(merged), match.getAlias()));
+        } else {
+          steps.add(new RegexAlias(regex, match.getAlias()));
+        }
+      } else if (match.getType() == MatchType.PREFIX) {
+        if (last instanceof PrefixAliases) {
+          ((PrefixAliases) last).add(match.getValue(), match.getAlias());
+        } else {
+          PrefixAliases step = new PrefixAliases();
+          step.add(match.getValue(), match.getAlias());
+          steps.add(step);
+        }
+      } else {
+        steps.add(new MatcherAlias(valueMatcher(match), match.getAlias()));
+      }
+    }
+
+    String apply(String value) {
+      for (AliasStep step : steps) {
+        value = step.apply(value);
+      }
+      return value;
+    }
+  }
+
+  private static Predicate<String> valueMatcher(Match match) {
+    String expected = match.getValue();
+    switch (match.getType()) {
+      case SUFFIX:
+        return value -> value.endsWith(expected);
+      case GLOB:
+        return new Glob(expected);
+      default:
+        throw new IllegalArgumentException("Unsupported match type: " + match.getType());
+    }
+  }
+
+  private interface AliasStep {
+    String apply(String value);
+  }
+
+  /**
+   * Successive exact match aliases, composed into a single map.
+   */
+  private static class EqualsAliases implements AliasStep {
+
+    final Map<String, String> aliases = new HashMap<>();
+
+    void add(String value, String alias) {
+      // Values already replaced with the matched value are replaced again
+      aliases.replaceAll((k, v) -> v.equals(value) ? alias : v);
+      aliases.putIfAbsent(value, alias);
+    }
+
+    @Override
+    public String apply(String value) {
+      return aliases.getOrDefault(value, value);
+    }
+  }
+
+  /**
+   * Successive regex aliases to the same value, combined into a single pattern.
+   */
+  private static class RegexAlias implements AliasStep {
+
+    final RegexMemo memo;
+    final String alias;
+
+    RegexAlias(RegexMemo memo, String alias) {
+      this.memo = memo;
+      this.alias = alias;
+    }
+
+    boolean canMerge(Pattern other, String otherAlias) {
+      return alias.equals(otherAlias) && isSimple(memo.pattern()) && isSimple(other);
+    }
+
+    Pattern merge(Pattern other) {
+      return Pattern.compile("(?:" + memo.pattern().pattern() + ")|(?:" + other.pattern() + ")");
+    }
+
+    @Override
+    public String apply(String value) {
+      return memo.matches(value) ? alias : value;
+    }
+
+    /**
+     * Whether the pattern keeps its meaning inside an alternation: no flags, groups (whose numbers would shift) or
+     * quoting.
+     */
+    private static boolean isSimple(Pattern pattern) {
+      String regex = pattern.pattern();
+      return pattern.flags() == 0 && pattern.matcher("").groupCount() == 0 && !regex.contains("(?") && !regex.contains("\\Q");
+    }
+  }
+
+  /**
+   * Successive prefix aliases, looked up in a single trie.
+   */
+  private static class PrefixAliases implements AliasStep {
+
+    final PrefixTrie trie = new PrefixTrie();
+    final List<String> aliases = new ArrayList<>();
+
+    void add(String prefix, String alias) {
+      trie.add(prefix, aliases.size());
+      aliases.add(alias);
+    }
+
+    @Override
+    public String apply(String value) {
+      // Once replaced, the value can only be replaced again by the next rules
+      for (int rule = trie.firstMatch(value, 0); rule >= 0; rule = trie.firstMatch(value, rule + 1)) {
+        value = aliases.get(rule);
+      }
+      return value;
+    }
+  }
+
+  /**
+   * A single alias of the values accepted by a matcher.
+   */
+  private static class MatcherAlias implements AliasStep {
+
+    final Predicate<String> matcher;
+    final String alias;
+
+    MatcherAlias(Predicate<String> matcher, String alias) {
+      this.matcher = matcher;
+      this.alias = alias;
+    }
+
+    @Override
+    public String apply(String value) {
+      return matcher.test(value) ? alias : value;
+    }
+  }
+}
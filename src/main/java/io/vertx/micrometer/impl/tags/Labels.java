@@ -17,9 +17,13 @@
 package io.vertx.micrometer.impl.tags;
 
 import io.micrometer.core.instrument.Tag;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.micrometer.Label;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * @author Joel Takvorian
  */
@@ -28,6 +32,24 @@ public final class Labels {
   private static final Tag LOCAL = Tag.of(Label.EB_SIDE.toString(), "local");
   private static final Tag REMOTE = Tag.of(Label.EB_SIDE.toString(), "remote");
 
+  private static final int MIN_STATUS_CODE = 100;
+  private static final int MAX_STATUS_CODE = 599;
+  private static final Tag[] STATUS_CODES = new Tag[MAX_STATUS_CODE - MIN_STATUS_CODE + 1];
+  private static final Tag[] STATUS_CLASSES = new Tag[MAX_STATUS_CODE / 100];
+  private static final Map<HttpMethod, Tag> METHODS = new HashMap<>();
+
+  static {
+    for (int code = MIN_STATUS_CODE; code <= MAX_STATUS_CODE; code++) {
+      STATUS_CODES[code - MIN_STATUS_CODE] = Tag.of(Label.HTTP_CODE.toString(), String.valueOf(code));
+    }
+    for (int i = 0; i < STATUS_CLASSES.length; i++) {
+      STATUS_CLASSES[i] = Tag.of(Label.HTTP_CODE.toString(), (i + 1) + "xx");
+    }
+    for (HttpMethod method : HttpMethod.values()) {
+      METHODS.put(method, Tag.of(Label.HTTP_METHOD.toString(), method.toString()));
+    }
+  }
+
   private Labels() {
     // Utility
   }
@@ -48,6 +70,26 @@ public final class Labels {
     return addrOverride.toString();
   }
 
+  /**
+   * @param statusCode the HTTP response status code
+   * @param classOnly whether only the class of the status code should be kept, e.g. {@code 2xx}
+   * @return the {@link Label#HTTP_CODE} tag, shared for standard status codes
+   */
+  public static Tag statusCode(int statusCode, boolean classOnly) {
+    if (statusCode < MIN_STATUS_CODE || statusCode > MAX_STATUS_CODE) {
+      return Tag.of(Label.HTTP_CODE.toString(), String.valueOf(statusCode));
+    }
+    return classOnly ? STATUS_CLASSES[statusCode / 100 - 1] : STATUS_CODES[statusCode - MIN_STATUS_CODE];
+  }
+
+  /**
+   * @return the {@link Label#HTTP_METHOD} tag, shared for standard methods
+   */
+  public static Tag method(HttpMethod method) {
+    Tag tag = METHODS.get(method);
+    return tag != null ? tag : Tag.of(Label.HTTP_METHOD.toString(), method.toString());
+  }
+
   public static Tag side(boolean local) {
     return local ? LOCAL : REMOTE;
   }
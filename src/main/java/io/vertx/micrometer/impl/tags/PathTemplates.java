@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.impl.tags;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Replaces the variable segments of an HTTP path with placeholders, so that the {@code path} label has bounded values.
+ * <p>
+ * Numeric segments are replaced with {@code {id}}, UUIDs with {@code {uuid}} and hexadecimal hashes (16 characters or
+ * more, with at least one digit) with {@code {hash}}. These are detected by scanning the segment characters, without
+ * regular expressions. Additional regular expressions can be supplied; a segment fully matching one of them is replaced
+ * with the associated placeholder.
+ */
+public class PathTemplates {
+
+  public static final String ID = "{id}";
+  public static final String UUID = "{uuid}";
+  public static final String HASH = "{hash}";
+
+  private static final int MIN_HASH_LENGTH = 16;
+  private static final int UUID_LENGTH = 36;
+
+  private final Pattern[] patterns;
+  private final String[] placeholders;
+
+  /**
+   * @param templates regular expressions matching path segments, mapped to their placeholder
+   */
+  public PathTemplates(Map<String, String> templates) {
+    List<Pattern> patterns = new ArrayList<>();
+    List<String> placeholders = new ArrayList<>();
+    if (templates != null) {
+      templates.forEach((regex, placeholder) -> {
+        patterns.add(Pattern.compile(regex));
+        placeholders.add(placeholder);
+      });
+    }
+    this.patterns = patterns.toArray(new Pattern[0]);
+    this.placeholders = placeholders.toArray(new String[0]);
+  }
+
+  /**
+   * @param path an HTTP path, without query string
+   * @return the path with variable segments replaced, or {@code path} itself when no segment is replaced
+   */
+  public String apply(String path) {
+    StringBuilder sb = null;
+    int len = path.length();
+    int start = 0;
+    while (start <= len) {
+      int end = path.indexOf('/', start);
+      if (end == -1) {
+        end = len;
+      }
+      String placeholder = end > start ? placeholder(path, start, end) : null;
+      if (placeholder != null) {
+        if (sb == null) {
+          sb = new StringBuilder(len).append(path, 0, start);
+        }
+        sb.append(placeholder);
+      } else if (sb != null) {
+        sb.append(path, start, end);
+      }
+      if (end < len && sb != null) {
+        sb.append('/');
+      }
+      start = end + 1;
+    }
+    return sb == null ? path : sb.toString();
+  }
+
+  private String placeholder(String path, int start, int end) {
+    if (isNumeric(path, start, end)) {
+      return ID;
+    }
+    if (isUuid(path, start, end)) {
+      return UUID;
+    }
+    if (isHash(path, start, end)) {
+      return HASH;
+    }
+    if (patterns.length > 0) {
+      CharSequence segment = path.subSequence(start, end);
+      for (int i = 0; i < patterns.length; i++) {
+        if (patterns[i].matcher(segment).matches()) {
+          return placeholders[i];
+        }
+      }
+    }
+    return null;
+  }
+
+  private static boolean isNumeric(String path, int start, int end) {
+    for (int i = start; i < end; i++) {
+      char c = path.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isUuid(String path, int start, int end) {
+    if (end - start != UUID_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < UUID_LENGTH; i++) {
+      char c = path.charAt(start + i);
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        if (c != '-') {
+          return false;
+        }
+      } else if (!isHexDigit(c)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isHash(String path, int start, int end) {
+    if (end - start < MIN_HASH_LENGTH) {
+      return false;
+    }
+    boolean digit = false;
+    for (int i = start; i < end; i++) {
+      char c = path.charAt(i);
+      if (!isHexDigit(c)) {
+        return false;
+      }
+      digit |= c <= '9';
+    }
+    return digit;
+  }
+
+  private static boolean isHexDigit(char c) {
+    return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertx.micrometer.impl.tags;
+
+import java.util.Arrays;
+
+/**
+ * A trie of prefixes, each associated with the indices of the rules declaring it.
+ * <p>
+ * A value is checked against all prefixes in a single pass over its characters.
+ * The trie is not thread-safe while prefixes are added, and must not be modified once it is shared.
+ */
+class PrefixTrie {
+
+  private static final char[] NO_KEYS = new char[0];
+  private static final Node[] NO_CHILDREN = new Node[0];
+  private static final int[] NO_RULES = new int[0];
+
+  private final Node root = new Node();
+
+  /**
+   * Add a prefix. Rules must be added in increasing order.
+   *
+   * @param prefix the prefix
+   * @param rule the index of the rule declaring the prefix
+   */
+  void add(String prefix, int rule) {
+    Node node = root;
+    for (int i = 0; i < prefix.length(); i++) {
+      node = node.child(prefix.charAt(i), true);
+    }
+    node.rules = Arrays.copyOf(node.rules, node.rules.length + 1);
+    node.rules[node.rules.length - 1] = rule;
+  }
+
+  /**
+   * @return true if the value starts with any of the prefixes
+   */
+  boolean matches(String value) {
+    Node node = root;
+    for (int i = 0; ; i++) {
+      if (node.rules.length > 0) {
+        return true;
+      }
+      if (i == value.length() || (node = node.child(value.charAt(i), false)) == null) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * @return the lowest rule index, greater than or equal to {@code from}, whose prefix starts the value, or -1
+   */
+  int firstMatch(String value, int from) {
+    int first = -1;
+    Node node = root;
+    for (int i = 0; ; i++) {
+      for (int rule : node.rules) {
+        if (rule >= from) {
+          if (first < 0 || rule < first) {
+            first = rule;
+          }
+          break;
+        }
+      }
+      if (i == value.length() || (node = node.child(value.charAt(i), false)) == null) {
+        return first;
+      }
+    }
+  }
+
+  private static class Node {
+
+    // Sorted, looked up with a binary search
+    char[] keys = NO_KEYS;
+    Node[] children = NO_CHILDREN;
+    int[] rules = NO_RULES;
+
+    Node child(char c, boolean create) {
+      int idx = Arrays.binarySearch(keys, c);
+      if (idx >= 0) {
+        return children[idx];
+      }
+      if (!create) {
+        return null;
+      }
+      int pos = -idx - 1;
+      Node child = new Node();
+      char[] newKeys = new char[keys.length + 1];
+      Node[] newChildren = new Node[children.length + 1];
+      System.arraycopy(keys, 0, newKeys, 0, pos);
+      System.arraycopy(children, 0, newChildren, 0, pos);
+      newKeys[pos] = c;
+      newChildren[pos] = child;
+      System.arraycopy(keys, pos, newKeys, pos + 1, keys.length - pos);
+      System.arraycopy(children, pos, newChildren, pos + 1, children.length - pos);
+      keys = newKeys;
+      children = newChildren;
+      return child;
+    }
+  }
+}
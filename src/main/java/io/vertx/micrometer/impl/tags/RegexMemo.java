@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertx.micrometer.impl.tags;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded memo of the values matching a regular expression.
+ * <p>
+ * When the memo is full, an entry is evicted to make room for a new one, giving a second chance to the entries that were
+ * hit since the previous eviction scan, so that frequently matched values stay memoized.
+ */
+class RegexMemo {
+
+  private final Pattern pattern;
+  private final int maxSize;
+  private final Stats stats;
+  private final ConcurrentMap<String, Result> results;
+
+  RegexMemo(Pattern pattern, int maxSize, Stats stats) {
+    this.pattern = pattern;
+    this.maxSize = maxSize;
+    this.stats = stats;
+    this.results = new ConcurrentHashMap<>();
+  }
+
+  Pattern pattern() {
+    return pattern;
+  }
+
+  boolean matches(String value) {
+    Result result = results.get(value);
+    if (result != null) {
+      stats.hits.increment();
+      return result.hit();
+    }
+    stats.misses.increment();
+    boolean matches = pattern.matcher(value).matches();
+    if (results.size() >= maxSize) {
+      evictOne();
+    }
+    results.put(value, new Result(matches));
+    return matches;
+  }
+
+  int size() {
+    return results.size();
+  }
+
+  private void evictOne() {
+    // The first pass clears the hit flags, so the second one evicts an entry when all of them were hit
+    for (int pass = 0; pass < 2; pass++) {
+      for (Iterator<Result> iterator = results.values().iterator(); iterator.hasNext(); ) {
+        Result result = iterator.next();
+        if (result.hit) {
+          result.hit = false;
+        } else {
+          iterator.remove();
+          stats.evictions.increment();
+          return;
+        }
+      }
+    }
+  }
+
+  private static class Result {
+
+    final boolean matches;
+    volatile boolean hit;
+
+    Result(boolean matches) {
+      this.matches = matches;
+    }
+
+    boolean hit() {
+      if (!hit) {
+        hit = true;
+      }
+      return matches;
+    }
+  }
+
+  /**
+   * Statistics shared by a group of memos.
+   */
+  static class Stats {
+
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.tests;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the cost of a task run on the current thread, for the benchmark tests run manually.
+ */
+public final class Allocations {
+
+  private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private Allocations() {
+  }
+
+  /**
+   * @return the bytes allocated per run of {@code task}, measured over {@code runs} runs after as many warm-up runs
+   */
+  public static double bytesPerRun(int runs, Runnable task) {
+    repeat(runs, task);
+    long threadId = Thread.currentThread().getId();
+    long before = THREADS.getThreadAllocatedBytes(threadId);
+    repeat(runs, task);
+    return (double) (THREADS.getThreadAllocatedBytes(threadId) - before) / runs;
+  }
+
+  /**
+   * @return the time per run of {@code task} in nanoseconds, measured over {@code runs} runs after as many warm-up runs
+   */
+  public static double nanosPerRun(int runs, Runnable task) {
+    repeat(runs, task);
+    long start = System.nanoTime();
+    repeat(runs, task);
+    return (double) (System.nanoTime() - start) / runs;
+  }
+
+  private static void repeat(int runs, Runnable task) {
+    for (int i = 0; i < runs; i++) {
+      task.run();
+    }
+  }
+}
@@ -18,12 +18,15 @@
 package io.vertx.micrometer.tests;
 
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.micrometer.MicrometerMetricsOptions;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @RunWith(VertxUnitRunner.class)
 public class EmptyCompositeMeterRegistryTest extends MicrometerMetricsTestBase {
 
@@ -39,4 +42,22 @@ public class EmptyCompositeMeterRegistryTest extends MicrometerMetricsTestBase {
     // If the task is executed then the gauge lookup succedeed
     vertx.executeBlocking(() -> null).onComplete(ctx.asyncAssertSuccess());
   }
+
+  @Test
+  public void shouldReportOnceRegistryIsAdded(TestContext ctx) {
+    CompositeMeterRegistry composite = new CompositeMeterRegistry();
+    meterRegistry = composite;
+    metricsOptions = new MicrometerMetricsOptions()
+      .setRegistryName(registryName)
+      .setEnabled(true);
+    vertx = vertx(ctx);
+
+    vertx.eventBus().publish("before", "msg");
+    assertThat(composite.find("vertx.eventbus.published").counter()).isNull();
+
+    SimpleMeterRegistry simple = new SimpleMeterRegistry();
+    composite.add(simple);
+    vertx.eventBus().publish("after", "msg");
+    assertThat(simple.get("vertx.eventbus.published").counter().count()).isEqualTo(1d);
+  }
 }
@@ -8,7 +8,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 public class MetricsNamingTest {
 
-  private static final int NB_METRICS = 39;
+  private static final int NB_METRICS = 41;
 
   @Test
   public void v4NamesShouldCoverAllMetrics() {
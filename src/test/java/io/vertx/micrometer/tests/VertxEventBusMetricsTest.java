@@ -28,6 +28,9 @@ import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.micrometer.Label;
+import io.vertx.micrometer.Match;
+import io.vertx.micrometer.MatchType;
+import io.vertx.micrometer.MetricsDomain;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -136,4 +139,28 @@ public class VertxEventBusMetricsTest extends MicrometerMetricsTestBase {
     datapoints = listDatapoints(startsWith("vertx.eventbus"));
     assertThat(datapoints).contains(dp("vertx.eventbus.pending[side=local]$VALUE", 0));
   }
+
+  @Test
+  public void shouldSkipDeniedAddressesAtSource(TestContext context) {
+    metricsOptions.addLabels(Label.EB_ADDRESS)
+      .setLabelMatchesAtSourceEnabled(true)
+      .addLabelMatch(new Match()
+        .setDomain(MetricsDomain.EVENT_BUS)
+        .setLabel(Label.EB_ADDRESS.toString())
+        .setType(MatchType.PREFIX)
+        .setValue("kept."));
+
+    vertx = vertx(context);
+
+    EventBus eb = vertx.eventBus();
+    eb.consumer("kept.address", msg -> {});
+    eb.consumer("dropped.address", msg -> {});
+    eb.send("kept.address", "hello");
+    eb.send("dropped.address", "hello");
+
+    waitForValue(context, "vertx.eventbus.processed[address=kept.address,side=local]$COUNT", value -> value.intValue() == 1);
+    List<Datapoint> datapoints = listDatapoints(startsWith("vertx.eventbus"));
+    assertThat(datapoints).contains(dp("vertx.eventbus.handlers[address=kept.address]$VALUE", 1));
+    assertThat(datapoints).extracting(Datapoint::id).noneMatch(id -> id.contains("dropped.address"));
+  }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.tests;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.micrometer.backends.BackendRegistries;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With the default labels, the HTTP server request and response meters are interned.
+ */
+@RunWith(VertxUnitRunner.class)
+public class VertxHttpServerInternedMetersTest extends MicrometerMetricsTestBase {
+
+  @Test
+  public void shouldReportInternedMetersByStatusCode(TestContext ctx) {
+    vertx = vertx(ctx);
+
+    prepareServer(ctx);
+    HttpClient client = vertx.createHttpClient();
+    sendRequests(ctx, client, "/", 3);
+    sendRequests(ctx, client, "/missing", 2);
+
+    waitForValue(ctx, "vertx.http.server.requests[code=404,method=GET]$COUNT",
+      value -> value.intValue() == 2);
+
+    List<Datapoint> datapoints = listDatapoints(startsWith("vertx.http.server."));
+    assertThat(datapoints).contains(
+      dp("vertx.http.server.requests[code=200,method=GET]$COUNT", 3),
+      dp("vertx.http.server.response.time[code=200,method=GET]$COUNT", 3),
+      dp("vertx.http.server.response.time[code=404,method=GET]$COUNT", 2),
+      dp("vertx.http.server.active.requests[method=GET]$VALUE", 0));
+  }
+
+  @Test
+  public void shouldRegisterInternedMetersAgainAfterRemoval(TestContext ctx) {
+    vertx = vertx(ctx);
+
+    prepareServer(ctx);
+    HttpClient client = vertx.createHttpClient();
+    sendRequests(ctx, client, "/", 2);
+
+    waitForValue(ctx, "vertx.http.server.requests[code=200,method=GET]$COUNT",
+      value -> value.intValue() == 2);
+
+    MeterRegistry registry = BackendRegistries.getNow(registryName);
+    Counter counter = registry.find("vertx.http.server.requests").tags("code", "200").counter();
+    assertThat(counter).isNotNull();
+    registry.remove(counter);
+
+    sendRequests(ctx, client, "/", 1);
+
+    waitForValue(ctx, "vertx.http.server.requests[code=200,method=GET]$COUNT",
+      value -> value.intValue() == 1);
+    assertThat(registry.find("vertx.http.server.requests").tags("code", "200").counter()).isNotSameAs(counter);
+  }
+
+  @Test
+  public void shouldRegisterActiveRequestsGaugeAgainAfterRemoval(TestContext ctx) {
+    vertx = vertx(ctx);
+
+    prepareServer(ctx);
+    HttpClient client = vertx.createHttpClient();
+    sendRequests(ctx, client, "/", 1);
+
+    waitForValue(ctx, "vertx.http.server.requests[code=200,method=GET]$COUNT",
+      value -> value.intValue() == 1);
+
+    MeterRegistry registry = BackendRegistries.getNow(registryName);
+    Gauge gauge = registry.find("vertx.http.server.active.requests").gauge();
+    assertThat(gauge).isNotNull();
+    registry.remove(gauge);
+
+    sendRequests(ctx, client, "/", 1);
+
+    waitForValue(ctx, "vertx.http.server.requests[code=200,method=GET]$COUNT",
+      value -> value.intValue() == 2);
+    assertThat(registry.find("vertx.http.server.active.requests").gauge())
+      .isNotNull().isNotSameAs(gauge).extracting(Gauge::value).isEqualTo(0d);
+  }
+
+  private void prepareServer(TestContext ctx) {
+    Async listening = ctx.async();
+    vertx.createHttpServer()
+      .requestHandler(req -> req.response().setStatusCode("/missing".equals(req.path()) ? 404 : 200).end())
+      .listen(9195, "127.0.0.1")
+      .onComplete(ctx.asyncAssertSuccess(server -> listening.complete()));
+    listening.awaitSuccess();
+  }
+
+  private void sendRequests(TestContext ctx, HttpClient client, String uri, int count) {
+    Async async = ctx.async(count);
+    for (int i = 0; i < count; i++) {
+      client.request(HttpMethod.GET, 9195, "127.0.0.1", uri)
+        .compose(req -> req.send().compose(HttpClientResponse::body))
+        .onComplete(ctx.asyncAssertSuccess(v -> async.countDown()));
+    }
+    async.await();
+  }
+}
@@ -77,6 +77,87 @@ public class VertxHttpServerMetricsConfigTest extends MicrometerMetricsTestBase
       "vertx.http.server.response.time[code=200,method=POST,user=bob]$COUNT");
   }
 
+  @Test
+  public void shouldNotReportDisabledMetrics(TestContext ctx) {
+    metricsOptions
+      .addDisabledMetric("httpRequestBytes")
+      .addDisabledMetric("httpActiveRequests");
+    vertx = vertx(ctx);
+
+    prepareServer(ctx);
+    HttpClient client = vertx.createHttpClient();
+    sendRequest(ctx, client, "alice");
+
+    waitForValue(ctx, "vertx.http.client.response.time[code=200,method=POST]$COUNT",
+      value -> value.intValue() == 1);
+
+    List<Datapoint> datapoints = listDatapoints(startsWith("vertx.http."));
+    assertThat(datapoints).extracting(Datapoint::id)
+      .contains(
+        "vertx.http.server.requests[code=200,method=POST,user=alice]$COUNT",
+        "vertx.http.server.response.bytes[code=200,method=POST,user=alice]$COUNT",
+        "vertx.http.client.requests[method=POST]$COUNT")
+      .noneMatch(id -> id.startsWith("vertx.http.server.request.bytes") || id.startsWith("vertx.http.client.request.bytes"))
+      .noneMatch(id -> id.startsWith("vertx.http.server.active.requests") || id.startsWith("vertx.http.client.active.requests"));
+  }
+
+  @Test
+  public void shouldReportStatusCodeClasses(TestContext ctx) {
+    metricsOptions.setHttpCodeClassEnabled(true);
+    vertx = vertx(ctx);
+
+    prepareServer(ctx);
+    HttpClient client = vertx.createHttpClient();
+    sendRequest(ctx, client, "alice");
+
+    waitForValue(ctx, "vertx.http.client.response.time[code=2xx,method=POST]$COUNT",
+      value -> value.intValue() == 1);
+
+    List<Datapoint> datapoints = listDatapoints(startsWith("vertx.http.server."));
+    assertThat(datapoints).extracting(Datapoint::id)
+      .contains(
+        "vertx.http.server.requests[code=2xx,method=POST,user=alice]$COUNT",
+        "vertx.http.server.response.time[code=2xx,method=POST,user=alice]$COUNT")
+      .noneMatch(id -> id.contains("code=200"));
+  }
+
+  @Test
+  public void shouldSampleResponseTimes(TestContext ctx) {
+    metricsOptions.setHttpResponseTimeSampling(1_000_000);
+    vertx = vertx(ctx);
+
+    prepareServer(ctx);
+    HttpClient client = vertx.createHttpClient();
+    sendRequest(ctx, client, "alice");
+    sendRequest(ctx, client, "alice");
+
+    waitForValue(ctx, "vertx.http.server.requests[code=200,method=POST,user=alice]$COUNT",
+      value -> value.intValue() == 2);
+
+    List<Datapoint> datapoints = listDatapoints(startsWith("vertx.http."));
+    assertThat(datapoints).contains(
+      dp("vertx.http.server.response.time.sampling.ratio[]$VALUE", 1e-6),
+      dp("vertx.http.client.response.time.sampling.ratio[]$VALUE", 1e-6),
+      dp("vertx.http.client.requests[method=POST]$COUNT", 2));
+  }
+
+  @Test
+  public void shouldDisableSamplingRatio(TestContext ctx) {
+    metricsOptions.setHttpResponseTimeSampling(1_000_000)
+      .addDisabledMetric("httpResponseTimeSamplingRatio");
+    vertx = vertx(ctx);
+
+    prepareServer(ctx);
+    HttpClient client = vertx.createHttpClient();
+    sendRequest(ctx, client, "alice");
+
+    waitForValue(ctx, "vertx.http.server.requests[code=200,method=POST,user=alice]$COUNT",
+      value -> value.intValue() == 1);
+
+    List<Datapoint> datapoints = listDatapoints(startsWith("vertx.http."));
+    assertThat(datapoints).extracting(Datapoint::id).noneMatch(id -> id.contains("sampling.ratio"));
+  }
+
   private void prepareServer(TestContext ctx) {
     // Setup server
     Async serverReady = ctx.async();
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.tests;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerConfig;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.core.spi.metrics.HttpServerMetrics;
+import io.vertx.core.spi.observability.HttpResponse;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.micrometer.Label;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.backends.BackendRegistries;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Responses pushed by the server are reported with the tags of the pushed request.
+ */
+@RunWith(VertxUnitRunner.class)
+public class VertxHttpServerPushedResponseMetricsTest extends MicrometerMetricsTestBase {
+
+  private static final HttpResponse OK = new HttpResponse() {
+    @Override
+    public int statusCode() {
+      return 200;
+    }
+
+    @Override
+    public MultiMap headers() {
+      return MultiMap.caseInsensitiveMultiMap();
+    }
+  };
+
+  @Override
+  protected MicrometerMetricsOptions metricOptions() {
+    return super.metricOptions()
+      .addLabels(Label.HTTP_PATH)
+      .setHttpPathTemplatingEnabled(true);
+  }
+
+  @Test
+  public void shouldReportTemplatedPathOfPushedResponse(TestContext ctx) {
+    vertx = vertx(ctx);
+
+    pushResponse(HttpMethod.GET, "/users/123/avatar?size=64");
+
+    MeterRegistry registry = BackendRegistries.getNow(registryName);
+    Counter counter = registry.find("vertx.http.server.requests").tags("path", "/users/{id}/avatar").counter();
+    assertThat(counter).isNotNull().extracting(Counter::count).isEqualTo(1d);
+  }
+
+  @Test
+  public void shouldReportMethodOfPushedResponse(TestContext ctx) {
+    vertx = vertx(ctx);
+
+    pushResponse(HttpMethod.GET, "/style.css");
+    pushResponse(HttpMethod.HEAD, "/style.css");
+
+    MeterRegistry registry = BackendRegistries.getNow(registryName);
+    assertThat(registry.find("vertx.http.server.requests").tags("method", "GET", "path", "/style.css").counter())
+      .isNotNull().extracting(Counter::count).isEqualTo(1d);
+    assertThat(registry.find("vertx.http.server.requests").tags("method", "HEAD", "path", "/style.css").counter())
+      .isNotNull().extracting(Counter::count).isEqualTo(1d);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void pushResponse(HttpMethod method, String uri) {
+    HttpServerMetrics<Object, Object> metrics = (HttpServerMetrics<Object, Object>) ((VertxInternal) vertx).metrics()
+      .createHttpServerMetrics(new HttpServerConfig(), SocketAddress.inetSocketAddress(9195, "127.0.0.1"), null);
+    SocketAddress remoteAddress = SocketAddress.inetSocketAddress(43210, "127.0.0.1");
+    Object requestMetric = metrics.responsePushed(remoteAddress, method, uri, OK);
+    metrics.responseEnd(requestMetric, OK, 10);
+  }
+}
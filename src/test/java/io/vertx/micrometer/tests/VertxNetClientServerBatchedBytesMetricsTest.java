@@ -0,0 +1,15 @@
+package io.vertx.micrometer.tests;
+
+import io.vertx.micrometer.MicrometerMetricsOptions;
+
+/**
+ * Same expectations as {@link VertxNetClientServerMetricsTest}, with bytes added to the counters in batches.
+ */
+public class VertxNetClientServerBatchedBytesMetricsTest extends VertxNetClientServerMetricsTest {
+
+  @Override
+  protected MicrometerMetricsOptions metricOptions() {
+    return super.metricOptions()
+      .setNetBytesFlushInterval(100);
+  }
+}
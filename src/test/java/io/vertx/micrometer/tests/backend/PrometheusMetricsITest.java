@@ -18,6 +18,8 @@ package io.vertx.micrometer.tests.backend;
 
 import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
 import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
@@ -36,9 +38,15 @@ import io.vertx.micrometer.backends.BackendRegistries;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 
 @RunWith(VertxUnitRunner.class)
 public class PrometheusMetricsITest extends MicrometerMetricsTestBase {
@@ -72,6 +80,61 @@ public class PrometheusMetricsITest extends MicrometerMetricsTestBase {
     async.awaitSuccess(10000);
   }
 
+  @Test
+  public void shouldStartEmbeddedServerOnInstrumentedVertx(TestContext context) {
+    metricsOptions = new MicrometerMetricsOptions()
+      .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true)
+        .setStartEmbeddedServer(true)
+        .setEmbeddedServerOnInstrumentedVertx(true)
+        .setEmbeddedServerOptions(new HttpServerOptions().setPort(9090)))
+      .addLabels(Label.LOCAL, Label.HTTP_PATH, Label.REMOTE)
+      .setRegistryName(registryName)
+      .setEnabled(true);
+
+    vertx = vertx(context);
+
+    Async async = context.async();
+    PrometheusTestHelper.tryConnect(vertx, context, 9090, "localhost", "/metrics", r1 -> {
+      vertx.setTimer(500, l ->
+        PrometheusTestHelper.tryConnect(vertx, context, 9090, "localhost", "/metrics", body -> {
+          // The embedded server is instrumented too
+          context.verify(v2 -> assertThat(body.toString())
+            .containsPattern("vertx_http_server_requests_total\\{.*path=\"/metrics\"")
+            .contains("vertx_http_client_requests_total{local=\"?\",method=\"GET\",path=\"/metrics\",remote=\"localhost:9090\""));
+          async.complete();
+        }));
+    });
+    async.awaitSuccess(10000);
+  }
+
+  @Test
+  public void shouldStartEmbeddedServerAgainOnRecreatedVertx(TestContext context) {
+    metricsOptions = new MicrometerMetricsOptions()
+      .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true)
+        .setStartEmbeddedServer(true)
+        .setEmbeddedServerOnInstrumentedVertx(true)
+        .setEmbeddedServerOptions(new HttpServerOptions().setPort(9090)))
+      .setRegistryName(registryName)
+      .setEnabled(true);
+
+    vertx = vertx(context);
+    Async first = context.async();
+    PrometheusTestHelper.tryConnect(vertx, context, 9090, "localhost", "/metrics", body -> first.complete());
+    first.awaitSuccess(10000);
+
+    Async closed = context.async();
+    vertx.close().onComplete(context.asyncAssertSuccess(v -> closed.complete()));
+    closed.awaitSuccess(10000);
+
+    vertx = vertx(context);
+    Async second = context.async();
+    PrometheusTestHelper.tryConnect(vertx, context, 9090, "localhost", "/metrics", body -> {
+      context.verify(v -> assertThat(body.toString()).contains("vertx_http_client_requests_total"));
+      second.complete();
+    });
+    second.awaitSuccess(10000);
+  }
+
   @Test
   public void scrapeByName(TestContext context) {
     shouldBindExistingServer(context, () -> PrometheusScrapingHandler.create(registryName));
@@ -82,6 +145,23 @@ public class PrometheusMetricsITest extends MicrometerMetricsTestBase {
     shouldBindExistingServer(context, () -> PrometheusScrapingHandler.create((PrometheusMeterRegistry) BackendRegistries.getNow(registryName)));
   }
 
+  @Test
+  public void scrapeStreaming(TestContext context) {
+    shouldBindExistingServer(context, () -> PrometheusScrapingHandler.create(registryName, new VertxPrometheusOptions().setScrapeStreamingEnabled(true)));
+  }
+
+  @Test
+  public void scrapeOnWorker(TestContext context) {
+    shouldBindExistingServer(context, () -> PrometheusScrapingHandler.create(registryName, new VertxPrometheusOptions().setScrapeWorkerPoolSize(1)));
+  }
+
+  @Test
+  public void scrapeStreamingOnWorker(TestContext context) {
+    shouldBindExistingServer(context, () -> PrometheusScrapingHandler.create(registryName, new VertxPrometheusOptions()
+      .setScrapeStreamingEnabled(true)
+      .setScrapeWorkerPoolSize(1)));
+  }
+
   private void shouldBindExistingServer(TestContext context, Supplier<Handler<RoutingContext>> scrapingHandler) {
     metricsOptions = new MicrometerMetricsOptions()
       .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
@@ -103,6 +183,128 @@ public class PrometheusMetricsITest extends MicrometerMetricsTestBase {
     async.awaitSuccess(10000);
   }
 
+  @Test
+  public void shouldServeCachedScrape(TestContext context) {
+    metricsOptions = new MicrometerMetricsOptions()
+      .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+      .setRegistryName(registryName)
+      .setEnabled(true);
+
+    vertx = vertx(context);
+
+    Router router = Router.router(vertx);
+    router.route("/custom").handler(PrometheusScrapingHandler.create(registryName, new VertxPrometheusOptions().setScrapeCacheTtl(60_000)));
+    vertx.createHttpServer().requestHandler(router).exceptionHandler(context.exceptionHandler()).listen(8081);
+
+    Async async = context.async();
+    PrometheusTestHelper.tryConnect(vertx, context, 8081, "localhost", "/custom", body1 -> {
+      // Request metrics have changed in between, but the first rendering is still served
+      PrometheusTestHelper.tryConnect(vertx, context, 8081, "localhost", "/custom", body2 -> {
+        context.verify(v -> assertThat(body2.toString()).isEqualTo(body1.toString()));
+        async.complete();
+      });
+    });
+    async.awaitSuccess(10000);
+  }
+
+  @Test
+  public void shouldCompressScrape(TestContext context) {
+    shouldCompressScrape(context, new VertxPrometheusOptions().setScrapeCompressionEnabled(true));
+  }
+
+  @Test
+  public void shouldCompressStreamedScrape(TestContext context) {
+    shouldCompressScrape(context, new VertxPrometheusOptions().setScrapeCompressionEnabled(true).setScrapeStreamingEnabled(true));
+  }
+
+  @Test
+  public void shouldCompressCachedScrape(TestContext context) {
+    shouldCompressScrape(context, new VertxPrometheusOptions().setScrapeCompressionEnabled(true).setScrapeCacheTtl(60_000));
+  }
+
+  private void shouldCompressScrape(TestContext context, VertxPrometheusOptions scrapeOptions) {
+    metricsOptions = new MicrometerMetricsOptions()
+      .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+      .setRegistryName(registryName)
+      .setEnabled(true);
+
+    vertx = vertx(context);
+
+    Router router = Router.router(vertx);
+    router.route("/custom").handler(PrometheusScrapingHandler.create(registryName, scrapeOptions));
+    vertx.createHttpServer().requestHandler(router).exceptionHandler(context.exceptionHandler()).listen(8081)
+      .compose(server -> vertx.createHttpClient().request(HttpMethod.GET, 8081, "localhost", "/custom"))
+      .compose(req -> req.putHeader(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8").send())
+      .compose(resp -> {
+        context.assertEquals("gzip", resp.getHeader(HttpHeaders.CONTENT_ENCODING));
+        return resp.body();
+      })
+      .onComplete(context.asyncAssertSuccess(body -> {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body.getBytes()))) {
+          String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+          assertThat(content).contains("vertx_http_");
+        } catch (IOException e) {
+          context.fail(e);
+        }
+      }));
+  }
+
+  @Test
+  public void shouldNegotiateOpenMetrics(TestContext context) {
+    metricsOptions = new MicrometerMetricsOptions()
+      .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+      .setRegistryName(registryName)
+      .setEnabled(true);
+
+    vertx = vertx(context);
+
+    Router router = Router.router(vertx);
+    router.route("/custom").handler(PrometheusScrapingHandler.create(registryName, new VertxPrometheusOptions().setScrapeFormatNegotiationEnabled(true)));
+    vertx.createHttpServer().requestHandler(router).exceptionHandler(context.exceptionHandler()).listen(8081)
+      .compose(server -> vertx.createHttpClient().request(HttpMethod.GET, 8081, "localhost", "/custom"))
+      .compose(req -> req.putHeader(HttpHeaders.ACCEPT, "application/openmetrics-text;version=1.0.0;q=0.5,text/plain;version=0.0.4;q=0.3").send())
+      .compose(resp -> {
+        context.verify(v -> assertThat(resp.getHeader(HttpHeaders.CONTENT_TYPE)).startsWith("application/openmetrics-text"));
+        return resp.body();
+      })
+      .onComplete(context.asyncAssertSuccess(body -> {
+        context.verify(v -> assertThat(body.toString())
+          .contains("vertx_http_")
+          .endsWith("# EOF\n"));
+      }));
+  }
+
+  @Test
+  public void shouldScrapeRequestedNames(TestContext context) {
+    Set<String> metrics = scrapeMetricNames(context, new VertxPrometheusOptions(), "/custom?name%5B%5D=vertx_http_server_active_requests");
+    assertThat(metrics).containsExactly("vertx_http_server_active_requests");
+  }
+
+  @Test
+  public void shouldScrapeIncludedPrefixes(TestContext context) {
+    Set<String> metrics = scrapeMetricNames(context, new VertxPrometheusOptions()
+      .setScrapeIncludedPrefixes(List.of("vertx_http_"))
+      .setScrapeExcludedPrefixes(List.of("vertx_http_client_")), "/custom");
+    assertThat(metrics)
+      .contains("vertx_http_server_active_requests")
+      .allMatch(name -> name.startsWith("vertx_http_server_"));
+  }
+
+  private Set<String> scrapeMetricNames(TestContext context, VertxPrometheusOptions scrapeOptions, String requestURI) {
+    metricsOptions = new MicrometerMetricsOptions()
+      .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+      .setRegistryName(registryName)
+      .setEnabled(true);
+
+    vertx = vertx(context);
+
+    Router router = Router.router(vertx);
+    router.route("/custom").handler(PrometheusScrapingHandler.create(registryName, scrapeOptions));
+    vertx.createHttpServer().requestHandler(router).exceptionHandler(context.exceptionHandler()).listen(8081);
+
+    return PrometheusTestHelper.getMetricNames(vertx, context, 8081, "localhost", requestURI, 10000);
+  }
+
   @Test
   public void shouldExcludeCategory(TestContext context) {
     metricsOptions = new MicrometerMetricsOptions()
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.tests.backend;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.prometheus.metrics.expositionformats.ExpositionFormatWriter;
+import io.prometheus.metrics.expositionformats.ExpositionFormats;
+import io.vertx.micrometer.tests.Allocations;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Render time, allocations and payload size of a large registry in each exposition format the scraping handlers
+ * negotiate.
+ */
+@Ignore("Benchmark, run manually")
+public class PrometheusScrapeFormatsBenchmarkTest {
+
+  private static final int RUNS = 50;
+  private static final String TEXT = "text/plain";
+  private static final String OPEN_METRICS = "application/openmetrics-text; version=1.0.0";
+  private static final String PROTOBUF = "application/vnd.google.protobuf; proto=io.prometheus.client.MetricFamily; "
+    + "encoding=delimited";
+
+  private static PrometheusMeterRegistry registry;
+
+  @BeforeClass
+  public static void setUp() {
+    registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    for (int i = 0; i < 100; i++) {
+      for (int j = 0; j < 100; j++) {
+        Counter.builder("my_counter_" + i).tags("address", "addr" + j).register(registry).increment(j);
+      }
+      Timer.builder("my_timer_" + i).tags("code", "200").register(registry).record(Duration.ofMillis(i));
+    }
+  }
+
+  @Test
+  public void shouldRenderSmallerPayloadWithProtobuf() {
+    ExpositionFormats formats = ExpositionFormats.init();
+    ExpositionFormatWriter protobuf = formats.findWriter(PROTOBUF);
+    Assume.assumeTrue("Protobuf writer not available", protobuf.isAvailable());
+
+    long textSize = measure("Prometheus text", formats.findWriter(TEXT));
+    measure("OpenMetrics text", formats.findWriter(OPEN_METRICS));
+    long protobufSize = measure("Protobuf", protobuf);
+
+    assertThat(protobufSize).isLessThan(textSize);
+  }
+
+  private static long measure(String name, ExpositionFormatWriter writer) {
+    CountingOutputStream out = new CountingOutputStream();
+    Runnable render = () -> {
+      try {
+        registry.scrape(out, writer.getContentType());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+    double bytes = Allocations.bytesPerRun(RUNS, render);
+    double nanos = Allocations.nanosPerRun(RUNS, render);
+    out.count = 0;
+    render.run();
+    System.out.printf("%s: %d bytes payload, %.0f bytes allocated, %.2f ms per render%n", name, out.count, bytes,
+      nanos / 1_000_000);
+    return out.count;
+  }
+
+  private static class CountingOutputStream extends OutputStream {
+
+    long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+}
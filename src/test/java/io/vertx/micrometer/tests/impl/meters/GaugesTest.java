@@ -26,6 +26,7 @@ import io.vertx.micrometer.Match;
 import io.vertx.micrometer.MatchType;
 import io.vertx.micrometer.backends.BackendRegistries;
 import io.vertx.micrometer.impl.meters.LongGauges;
+import io.vertx.micrometer.impl.meters.StripedLongAdder;
 import org.junit.Test;
 
 import java.util.Collections;
@@ -95,4 +96,14 @@ public class GaugesTest {
 
     assertThat(registry.find("my_gauge").gauges()).isEmpty();
   }
+
+  @Test
+  public void shouldNotStripeHighCardinalityGauges() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    LongAdder g1 = longGauges.builder("my_gauge", LongAdder::doubleValue).tags(Tags.of("side", "local")).register(registry);
+    LongAdder g2 = longGauges.builder("my_gauge", LongAdder::doubleValue).tags(Tags.of(EB_ADDRESS.toString(), "addr1")).register(registry);
+
+    assertThat(g1).isInstanceOf(StripedLongAdder.class);
+    assertThat(g2).isNotInstanceOf(StripedLongAdder.class);
+  }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.tests.impl.meters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.micrometer.impl.meters.MeterCache;
+import io.vertx.micrometer.tests.Allocations;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of recording a value with a meter resolved from its tags, with and without the meter cache.
+ */
+@Ignore("Benchmark, run manually")
+public class MeterCacheBenchmarkTest {
+
+  private static final int RUNS = 1_000_000;
+  private static final Tags TAGS = Tags.of("address", "addr1", "side", "local");
+
+  @Test
+  public void shouldRecordWithLessAllocationsWhenCached() {
+    MeterProvider<Counter> uncached = provider(false);
+    MeterProvider<Counter> cached = provider(true);
+
+    double uncachedBytes = Allocations.bytesPerRun(RUNS, () -> uncached.withTags(TAGS).increment());
+    double cachedBytes = Allocations.bytesPerRun(RUNS, () -> cached.withTags(TAGS).increment());
+    double uncachedNanos = Allocations.nanosPerRun(RUNS, () -> uncached.withTags(TAGS).increment());
+    double cachedNanos = Allocations.nanosPerRun(RUNS, () -> cached.withTags(TAGS).increment());
+    System.out.printf("Uncached: %.1f bytes/op, %.1f ns/op%n", uncachedBytes, uncachedNanos);
+    System.out.printf("Cached: %.1f bytes/op, %.1f ns/op%n", cachedBytes, cachedNanos);
+
+    assertThat(cachedBytes).isLessThan(uncachedBytes / 10);
+  }
+
+  private static MeterProvider<Counter> provider(boolean enabled) {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, enabled, 1000);
+    return cache.provider(Counter.builder("my_counter").withRegistry(registry));
+  }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.tests.impl.meters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.micrometer.impl.meters.LongGaugeProvider;
+import io.vertx.micrometer.impl.meters.LongGauges;
+import io.vertx.micrometer.impl.meters.MeterCache;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MeterCacheTest {
+
+  @Test
+  public void shouldReturnSameMeterForSameTags() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 10);
+    MeterProvider<Counter> provider = cache.provider(Counter.builder("my_counter").withRegistry(registry));
+
+    Counter c1 = provider.withTags(Tags.of("address", "addr1"));
+    Counter c2 = provider.withTags("address", "addr1");
+    Counter c3 = provider.withTags(Tags.of("address", "addr2"));
+    c1.increment();
+    c2.increment();
+    c3.increment();
+
+    assertThat(c1).isSameAs(c2);
+    assertThat(c1).isNotSameAs(c3);
+    assertThat(registry.find("my_counter").tags("address", "addr1").counter())
+      .isNotNull().extracting(Counter::count).isEqualTo(2d);
+  }
+
+  @Test
+  public void shouldResolveMeterAgainAfterRemoval() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 10);
+    MeterProvider<Counter> provider = cache.provider(Counter.builder("my_counter").withRegistry(registry));
+
+    Counter c1 = provider.withTags(Tags.of("address", "addr1"));
+    c1.increment();
+    registry.remove(c1);
+    Counter c2 = provider.withTags(Tags.of("address", "addr1"));
+    c2.increment();
+
+    assertThat(c2).isNotSameAs(c1);
+    assertThat(registry.find("my_counter").tags("address", "addr1").counter())
+      .isNotNull().extracting(Counter::count).isEqualTo(1d);
+  }
+
+  @Test
+  public void shouldRemoveEvictedMetersFromRegistry() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 2);
+    MeterProvider<Counter> provider = cache.provider(Counter.builder("my_counter").withRegistry(registry));
+
+    for (int i = 0; i < 5; i++) {
+      provider.withTags(Tags.of("address", "addr" + i)).increment();
+    }
+
+    assertThat(registry.find("my_counter").counters()).hasSize(2);
+    provider.withTags(Tags.of("address", "addr0")).increment();
+    assertThat(registry.find("my_counter").counters()).hasSize(2);
+    assertThat(registry.find("my_counter").tags("address", "addr0").counter()).isNotNull();
+  }
+
+  @Test
+  public void shouldNotEvictNonZeroGauges() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 1);
+    ConcurrentMap<Meter.Id, LongAdder> gauges = new ConcurrentHashMap<>();
+    registry.config().onMeterRemoved(meter -> gauges.remove(meter.getId()));
+    LongGauges longGauges = new LongGauges(gauges);
+    LongGaugeProvider provider = cache.provider(longGauges.builder("my_gauge", LongAdder::doubleValue).withRegistry(registry));
+
+    provider.withTags(Tags.of("address", "addr1")).increment();
+    provider.withTags(Tags.of("address", "addr2"));
+    provider.withTags(Tags.of("address", "addr3"));
+
+    assertThat(registry.find("my_gauge").tags("address", "addr1").gauge())
+      .isNotNull().extracting(Gauge::value).isEqualTo(1d);
+    assertThat(registry.find("my_gauge").tags("address", "addr2").gauge()).isNull();
+    assertThat(registry.find("my_gauge").tags("address", "addr3").gauge()).isNotNull();
+    assertThat(gauges).hasSize(2);
+  }
+
+  @Test
+  public void shouldReuseGaugeAdderForSameTags() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 10);
+    LongGauges longGauges = new LongGauges(new ConcurrentHashMap<>());
+    LongGaugeProvider provider = cache.provider(longGauges.builder("my_gauge", LongAdder::doubleValue).withRegistry(registry));
+
+    LongAdder g1 = provider.withTags(Tags.of("address", "addr1"));
+    LongAdder g2 = provider.withTags(Tags.of("address", "addr1"));
+    LongAdder g3 = provider.withTags(Tags.of("address", "addr2"));
+    g1.increment();
+    g2.increment();
+    g3.increment();
+
+    assertThat(g1).isSameAs(g2);
+    assertThat(g1).isNotSameAs(g3);
+    assertThat(registry.find("my_gauge").tags("address", "addr1").gauge())
+      .isNotNull().extracting(Gauge::value).isEqualTo(2d);
+  }
+
+  @Test
+  public void shouldExpireIdleSeries() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 10, Set.of("address"));
+    MeterProvider<Counter> provider = cache.provider(Counter.builder("my_counter").withRegistry(registry));
+
+    provider.withTags(Tags.of("address", "addr1")).increment();
+    provider.withTags(Tags.of("address", "addr2")).increment();
+    provider.withTags(Tags.of("side", "local")).increment();
+    cache.expireIdleSeries();
+    provider.withTags(Tags.of("address", "addr1")).increment();
+    cache.expireIdleSeries();
+
+    assertThat(registry.find("my_counter").tags("address", "addr1").counter())
+      .isNotNull().extracting(Counter::count).isEqualTo(2d);
+    assertThat(registry.find("my_counter").tags("address", "addr2").counter()).isNull();
+    assertThat(registry.find("my_counter").tags("side", "local").counter()).isNotNull();
+
+    provider.withTags(Tags.of("address", "addr2")).increment();
+    assertThat(registry.find("my_counter").tags("address", "addr2").counter())
+      .isNotNull().extracting(Counter::count).isEqualTo(1d);
+  }
+
+  @Test
+  public void shouldNotExpireNonZeroGauges() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 10, Set.of("address"));
+    ConcurrentMap<Meter.Id, LongAdder> gauges = new ConcurrentHashMap<>();
+    registry.config().onMeterRemoved(meter -> gauges.remove(meter.getId()));
+    LongGauges longGauges = new LongGauges(gauges);
+    LongGaugeProvider provider = cache.provider(longGauges.builder("my_gauge", LongAdder::doubleValue).withRegistry(registry));
+
+    provider.withTags(Tags.of("address", "addr1")).increment();
+    provider.withTags(Tags.of("address", "addr2"));
+    cache.expireIdleSeries();
+    cache.expireIdleSeries();
+
+    assertThat(registry.find("my_gauge").tags("address", "addr1").gauge())
+      .isNotNull().extracting(Gauge::value).isEqualTo(1d);
+    assertThat(registry.find("my_gauge").tags("address", "addr2").gauge()).isNull();
+    assertThat(gauges).hasSize(1);
+  }
+
+  @Test
+  public void shouldKeepUpdatesOfExpiredGauge() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 10, Set.of("address"));
+    ConcurrentMap<Meter.Id, LongAdder> gauges = new ConcurrentHashMap<>();
+    registry.config().onMeterRemoved(meter -> gauges.remove(meter.getId()));
+    LongGauges longGauges = new LongGauges(gauges);
+    LongGaugeProvider provider = cache.provider(longGauges.builder("my_gauge", LongAdder::doubleValue).withRegistry(registry));
+
+    // Looked up before the series expires, updated after
+    LongAdder adder = provider.withTags(Tags.of("address", "addr1"));
+    cache.expireIdleSeries();
+    cache.expireIdleSeries();
+    assertThat(registry.find("my_gauge").tags("address", "addr1").gauge()).isNull();
+    adder.increment();
+    provider.withTags(Tags.of("address", "addr1")).increment();
+    provider.withTags(Tags.of("address", "addr1")).decrement();
+
+    assertThat(registry.find("my_gauge").tags("address", "addr1").gauge())
+      .isNotNull().extracting(Gauge::value).isEqualTo(1d);
+  }
+
+  @Test
+  public void shouldNotTurnGaugeNegativeWhenExpiringConcurrently() throws Exception {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 10, Set.of("address"));
+    ConcurrentMap<Meter.Id, LongAdder> gauges = new ConcurrentHashMap<>();
+    registry.config().onMeterRemoved(meter -> gauges.remove(meter.getId()));
+    LongGauges longGauges = new LongGauges(gauges);
+    LongGaugeProvider provider = cache.provider(longGauges.builder("my_gauge", LongAdder::doubleValue).withRegistry(registry));
+    Tags tags = Tags.of("address", "addr1");
+
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < 100_000; j++) {
+          provider.withTags(tags).increment();
+          provider.withTags(tags).decrement();
+        }
+      });
+      threads[i].start();
+    }
+    double min = 0;
+    boolean running = true;
+    while (running) {
+      cache.expireIdleSeries();
+      Gauge gauge = registry.find("my_gauge").tags(tags).gauge();
+      if (gauge != null && !Double.isNaN(gauge.value())) {
+        min = Math.min(min, gauge.value());
+      }
+      Thread.sleep(1);
+      running = false;
+      for (Thread thread : threads) {
+        running |= thread.isAlive();
+      }
+    }
+
+    assertThat(min).isEqualTo(0d);
+    assertThat(provider.withTags(tags).sum()).isEqualTo(0L);
+  }
+
+  @Test
+  public void shouldNotExpireMeterHeldByAnotherProvider() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 10, Set.of("address"));
+    MeterProvider<Counter> provider1 = cache.provider(Counter.builder("my_counter").withRegistry(registry));
+    MeterProvider<Counter> provider2 = cache.provider(Counter.builder("my_counter").withRegistry(registry));
+
+    provider1.withTags(Tags.of("address", "addr1")).increment();
+    provider2.withTags(Tags.of("address", "addr1")).increment();
+    cache.expireIdleSeries();
+    provider1.withTags(Tags.of("address", "addr1")).increment();
+    cache.expireIdleSeries();
+
+    assertThat(registry.find("my_counter").tags("address", "addr1").counter())
+      .isNotNull().extracting(Counter::count).isEqualTo(3d);
+  }
+
+  @Test
+  public void shouldKeepSeriesUsedThroughHandle() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 10, Set.of("address"));
+    MeterProvider<Counter> provider = cache.provider(Counter.builder("my_counter").withRegistry(registry));
+
+    Supplier<Counter> handle = cache.handle(provider, Tags.of("address", "addr1"));
+    handle.get().increment();
+    cache.expireIdleSeries();
+    handle.get().increment();
+    cache.expireIdleSeries();
+
+    assertThat(handle.get()).isSameAs(provider.withTags(Tags.of("address", "addr1")));
+    assertThat(registry.find("my_counter").tags("address", "addr1").counter())
+      .isNotNull().extracting(Counter::count).isEqualTo(2d);
+  }
+
+  @Test
+  public void shouldResolveHandleAgainAfterExpiry() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 10, Set.of("address"));
+    MeterProvider<Counter> provider = cache.provider(Counter.builder("my_counter").withRegistry(registry));
+
+    Supplier<Counter> handle = cache.handle(provider, Tags.of("address", "addr1"));
+    handle.get().increment();
+    cache.expireIdleSeries();
+    cache.expireIdleSeries();
+    assertThat(registry.find("my_counter").tags("address", "addr1").counter()).isNull();
+
+    handle.get().increment();
+    assertThat(registry.find("my_counter").tags("address", "addr1").counter())
+      .isNotNull().extracting(Counter::count).isEqualTo(1d);
+  }
+
+  @Test
+  public void shouldEvaluateFilterOnCacheMissOnly() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    // The filter evaluates at the source the matches applied by the registry
+    registry.config().meterFilter(MeterFilter.deny(id -> "denied".equals(id.getTag("address"))));
+    MeterCache cache = new MeterCache(registry, true, 10);
+    AtomicInteger evaluations = new AtomicInteger();
+    Predicate<Iterable<Tag>> filter = tags -> {
+      evaluations.incrementAndGet();
+      return !Tags.of(tags).stream().anyMatch(tag -> tag.getValue().equals("denied"));
+    };
+    MeterProvider<Counter> provider = cache.provider(Counter.builder("my_counter").withRegistry(registry), filter);
+
+    for (int i = 0; i < 3; i++) {
+      provider.withTags(Tags.of("address", "addr1")).increment();
+      provider.withTags(Tags.of("address", "denied")).increment();
+    }
+
+    assertThat(evaluations).hasValue(2);
+    assertThat(registry.find("my_counter").tags("address", "addr1").counter())
+      .isNotNull().extracting(Counter::count).isEqualTo(3d);
+    assertThat(registry.find("my_counter").tags("address", "denied").counter()).isNull();
+  }
+
+  @Test
+  public void shouldNotCacheWhenDisabled() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, false, 10);
+    MeterProvider<Counter> delegate = Counter.builder("my_counter").withRegistry(registry);
+
+    assertThat(cache.provider(delegate)).isSameAs(delegate);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.tests.impl.meters;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.micrometer.impl.meters.StripedLongAdder;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedLongAdderTest {
+
+  private static final int CONTEXTS = 4;
+  private static final int UPDATES = 10_000;
+
+  private Vertx vertx;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    vertx.close().await(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void shouldSumUpdatesFromEventLoopsAndOtherThreads() throws Exception {
+    StripedLongAdder adder = new StripedLongAdder(new StripedLongAdder.Stripes(CONTEXTS));
+    CountDownLatch latch = new CountDownLatch(2 * CONTEXTS);
+    for (int i = 0; i < CONTEXTS; i++) {
+      Context context = vertx.getOrCreateContext();
+      context.runOnContext(v -> {
+        for (int j = 0; j < UPDATES; j++) {
+          adder.increment();
+        }
+        adder.add(-10);
+        latch.countDown();
+      });
+      context.executeBlocking(() -> {
+        for (int j = 0; j < UPDATES; j++) {
+          adder.decrement();
+        }
+        latch.countDown();
+        return null;
+      });
+    }
+    adder.add(5);
+    assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(adder.sum()).isEqualTo(5 - 10 * CONTEXTS);
+    assertThat(adder.doubleValue()).isEqualTo(5d - 10 * CONTEXTS);
+    assertThat(adder.sumThenReset()).isEqualTo(5 - 10 * CONTEXTS);
+    assertThat(adder.sum()).isZero();
+  }
+
+  @Test
+  public void shouldKeepUpdatesAcrossResets() throws Exception {
+    StripedLongAdder adder = new StripedLongAdder(new StripedLongAdder.Stripes(CONTEXTS));
+    CountDownLatch incremented = new CountDownLatch(1);
+    Context context = vertx.getOrCreateContext();
+    context.runOnContext(v -> {
+      adder.add(3);
+      incremented.countDown();
+    });
+    assertThat(incremented.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(adder.sum()).isEqualTo(3);
+
+    adder.reset();
+    assertThat(adder.sum()).isZero();
+
+    CountDownLatch incrementedAgain = new CountDownLatch(1);
+    context.runOnContext(v -> {
+      adder.increment();
+      incrementedAgain.countDown();
+    });
+    assertThat(incrementedAgain.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(adder.sum()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldKeepUpdatesOfRecycledStripe() throws Exception {
+    StripedLongAdder.Stripes stripes = new StripedLongAdder.Stripes(1);
+    StripedLongAdder adder = new StripedLongAdder(stripes);
+    Vertx previous = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(1));
+    CountDownLatch incremented = new CountDownLatch(1);
+    previous.getOrCreateContext().runOnContext(v -> {
+      adder.add(3);
+      incremented.countDown();
+    });
+    assertThat(incremented.await(10, TimeUnit.SECONDS)).isTrue();
+    previous.close().await(10, TimeUnit.SECONDS);
+    previous = null;
+
+    // The stripe is recycled once the event-loop thread has been garbage collected
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (stripes.recycled() == 0 && System.currentTimeMillis() < deadline) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    Assume.assumeTrue("Event-loop thread not collected", stripes.recycled() > 0);
+
+    CountDownLatch incrementedAgain = new CountDownLatch(1);
+    vertx.getOrCreateContext().runOnContext(v -> {
+      adder.add(2);
+      incrementedAgain.countDown();
+    });
+    assertThat(incrementedAgain.await(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(stripes.recycled()).isZero();
+    assertThat(adder.sum()).isEqualTo(5);
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.tests.impl.meters;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.micrometer.tests.Allocations;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of timing an operation tracked by a request metric, holding either a {@link Timer.Sample} or the start time as
+ * primitive nanoseconds.
+ */
+@Ignore("Benchmark, run manually")
+public class TimerRecordingBenchmarkTest {
+
+  private static final int RUNS = 1_000_000;
+
+  // Request metrics outlive the call that creates them, publishing them prevents their allocation from being elided
+  private static volatile Object published;
+
+  @Test
+  public void shouldAllocateLessWithPrimitiveStartTime() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    Timer timer = Timer.builder("my_timer").register(registry);
+    Clock clock = registry.config().clock();
+
+    Runnable withSample = () -> {
+      SampleMetric metric = new SampleMetric(Timer.start(clock));
+      published = metric;
+      metric.sample.stop(timer);
+    };
+    Runnable withNanos = () -> {
+      NanosMetric metric = new NanosMetric(clock.monotonicTime());
+      published = metric;
+      timer.record(clock.monotonicTime() - metric.start, TimeUnit.NANOSECONDS);
+    };
+    double sampleBytes = Allocations.bytesPerRun(RUNS, withSample);
+    double nanosBytes = Allocations.bytesPerRun(RUNS, withNanos);
+    double sampleNanos = Allocations.nanosPerRun(RUNS, withSample);
+    double nanosNanos = Allocations.nanosPerRun(RUNS, withNanos);
+    System.out.printf("Timer.Sample: %.1f bytes/op, %.1f ns/op%n", sampleBytes, sampleNanos);
+    System.out.printf("Start nanos: %.1f bytes/op, %.1f ns/op%n", nanosBytes, nanosNanos);
+
+    assertThat(nanosBytes).isLessThan(sampleBytes);
+  }
+
+  private static class SampleMetric {
+
+    final Timer.Sample sample;
+
+    SampleMetric(Timer.Sample sample) {
+      this.sample = sample;
+    }
+  }
+
+  private static class NanosMetric {
+
+    final long start;
+
+    NanosMetric(long start) {
+      this.start = start;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.tests.impl.tags;
+
+import io.micrometer.core.instrument.Tag;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.micrometer.impl.tags.AddressTagCache;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AddressTagCacheTest {
+
+  @Test
+  public void shouldComputeTagOncePerAddressInstance() {
+    AtomicInteger computed = new AtomicInteger();
+    AddressTagCache cache = new AddressTagCache(address -> {
+      computed.incrementAndGet();
+      return Tag.of("remote", address.toString());
+    });
+    SocketAddress first = SocketAddress.inetSocketAddress(8080, "127.0.0.1");
+    SocketAddress second = SocketAddress.inetSocketAddress(8080, "127.0.0.1");
+
+    assertThat(cache.get(first)).isEqualTo(Tag.of("remote", "127.0.0.1:8080"));
+    assertThat(cache.get(first)).isEqualTo(Tag.of("remote", "127.0.0.1:8080"));
+    assertThat(computed).hasValue(1);
+
+    assertThat(cache.get(second)).isEqualTo(Tag.of("remote", "127.0.0.1:8080"));
+    assertThat(computed).hasValue(2);
+  }
+
+  @Test
+  public void shouldRecomputeTagsOfEvictedAddresses() {
+    AddressTagCache cache = new AddressTagCache(address -> Tag.of("remote", address.toString()));
+    List<SocketAddress> addresses = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      SocketAddress address = SocketAddress.inetSocketAddress(i, "localhost");
+      addresses.add(address);
+      cache.get(address);
+    }
+    for (SocketAddress address : addresses) {
+      assertThat(cache.get(address)).isEqualTo(Tag.of("remote", address.toString()));
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.tests.impl.tags;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.micrometer.Label;
+import io.vertx.micrometer.MetricsDomain;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.impl.meters.MeterCache;
+import io.vertx.micrometer.impl.tags.CardinalityLimiter;
+import io.vertx.micrometer.impl.tags.CardinalityLimits;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.vertx.micrometer.impl.tags.CardinalityLimiter.OTHER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CardinalityLimiterTest {
+
+  @Test
+  public void shouldCollapseValuesOverLimit() {
+    AtomicInteger collapsed = new AtomicInteger();
+    CardinalityLimiter limiter = new CardinalityLimiter(2, collapsed::incrementAndGet);
+
+    assertThat(limiter.apply("a")).isEqualTo("a");
+    assertThat(limiter.apply("b")).isEqualTo("b");
+    assertThat(limiter.apply("c")).isEqualTo(OTHER);
+    assertThat(limiter.apply("a")).isEqualTo("a");
+    assertThat(limiter.apply("d")).isEqualTo(OTHER);
+    assertThat(collapsed.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotLimitWhenDisabled() {
+    CardinalityLimits limits = new CardinalityLimits(0);
+    CardinalityLimiter limiter = limits.limiter("http.server", Label.HTTP_PATH, label -> () -> {
+      throw new AssertionError();
+    });
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(limiter.apply("/" + i)).isEqualTo("/" + i);
+    }
+  }
+
+  @Test
+  public void shouldShareLimiterPerDomainAndLabel() {
+    CardinalityLimits limits = new CardinalityLimits(1);
+
+    CardinalityLimiter l1 = limits.limiter("http.server", Label.HTTP_PATH, label -> () -> {});
+    CardinalityLimiter l2 = limits.limiter("http.server", Label.HTTP_PATH, label -> () -> {});
+    CardinalityLimiter l3 = limits.limiter("http.server", Label.REMOTE, label -> () -> {});
+    CardinalityLimiter l4 = limits.limiter("http.client", Label.HTTP_PATH, label -> () -> {});
+
+    assertThat(l1).isSameAs(l2);
+    assertThat(l1).isNotSameAs(l3).isNotSameAs(l4);
+    assertThat(l1.apply("/a")).isEqualTo("/a");
+    assertThat(l2.apply("/b")).isEqualTo(OTHER);
+    assertThat(l3.apply("/b")).isEqualTo("/b");
+    assertThat(l4.apply("/b")).isEqualTo("/b");
+  }
+
+  @Test
+  public void shouldOverrideLimitPerDomainAndLabel() {
+    MicrometerMetricsOptions options = new MicrometerMetricsOptions()
+      .setLabelCardinalityLimit(1)
+      .addLabelCardinalityLimit(MetricsDomain.HTTP_SERVER, Label.HTTP_PATH, 2)
+      .addLabelCardinalityLimit(MetricsDomain.EVENT_BUS, Label.EB_ADDRESS, 0);
+    CardinalityLimits limits = new CardinalityLimits(options.getLabelCardinalityLimit(),
+      options.getLabelCardinalityLimits());
+
+    CardinalityLimiter server = limits.limiter("http.server", Label.HTTP_PATH, label -> () -> {});
+    CardinalityLimiter client = limits.limiter("http.client", Label.HTTP_PATH, label -> () -> {});
+    CardinalityLimiter eventBus = limits.limiter("eventbus", Label.EB_ADDRESS, label -> () -> {});
+
+    assertThat(server.apply("/a")).isEqualTo("/a");
+    assertThat(server.apply("/b")).isEqualTo("/b");
+    assertThat(server.apply("/c")).isEqualTo(OTHER);
+    assertThat(client.apply("/a")).isEqualTo("/a");
+    assertThat(client.apply("/b")).isEqualTo(OTHER);
+    assertThat(eventBus).isSameAs(CardinalityLimiter.UNLIMITED);
+    assertThat(options.getLabelCardinalityLimits()).containsEntry("http.server/path", 2);
+  }
+
+  @Test
+  public void shouldReleaseValuesOfExpiredSeries() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 10, Set.of("address"));
+    CardinalityLimits limits = new CardinalityLimits(1);
+    cache.seriesAddedHandler(limits::seriesAdded);
+    cache.seriesRemovedHandler(limits::seriesRemoved);
+    CardinalityLimiter limiter = limits.limiter("eventbus", Label.EB_ADDRESS, label -> () -> {});
+    MeterProvider<Counter> provider = cache.provider(Counter.builder("vertx.eventbus.sent").withRegistry(registry));
+
+    provider.withTags(Tags.of("address", limiter.apply("addr1"))).increment();
+    assertThat(limiter.apply("addr2")).isEqualTo(OTHER);
+
+    cache.expireIdleSeries();
+    cache.expireIdleSeries();
+
+    assertThat(registry.find("vertx.eventbus.sent").tags("address", "addr1").counter()).isNull();
+    assertThat(limiter.apply("addr2")).isEqualTo("addr2");
+  }
+
+  @Test
+  public void shouldKeepValuesUsedByOtherSeries() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MeterCache cache = new MeterCache(registry, true, 10, Set.of("address"));
+    CardinalityLimits limits = new CardinalityLimits(1);
+    cache.seriesAddedHandler(limits::seriesAdded);
+    cache.seriesRemovedHandler(limits::seriesRemoved);
+    CardinalityLimiter limiter = limits.limiter("eventbus", Label.EB_ADDRESS, label -> () -> {});
+    MeterProvider<Counter> sent = cache.provider(Counter.builder("vertx.eventbus.sent").withRegistry(registry));
+    MeterProvider<Counter> received = cache.provider(Counter.builder("vertx.eventbus.received").withRegistry(registry));
+
+    Tags tags = Tags.of("address", limiter.apply("addr1"));
+    sent.withTags(tags).increment();
+    received.withTags(tags).increment();
+    cache.expireIdleSeries();
+    received.withTags(tags).increment();
+    cache.expireIdleSeries();
+
+    assertThat(registry.find("vertx.eventbus.sent").counter()).isNull();
+    assertThat(registry.find("vertx.eventbus.received").counter()).isNotNull();
+    assertThat(limiter.apply("addr2")).isEqualTo(OTHER);
+  }
+
+  @Test
+  public void shouldCountSeriesPerValue() {
+    CardinalityLimiter limiter = new CardinalityLimiter(1, () -> {});
+
+    assertThat(limiter.apply("a")).isEqualTo("a");
+    limiter.retain("a");
+    limiter.retain("a");
+    limiter.release("a");
+    assertThat(limiter.apply("b")).isEqualTo(OTHER);
+    limiter.release("a");
+    assertThat(limiter.apply("b")).isEqualTo("b");
+    // Values replaced with _other are not counted
+    limiter.retain(OTHER);
+    limiter.release(OTHER);
+    assertThat(limiter.apply("c")).isEqualTo(OTHER);
+  }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertx.micrometer.tests.impl.tags;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.micrometer.Match;
+import io.vertx.micrometer.MatchType;
+import io.vertx.micrometer.MetricsDomain;
+import io.vertx.micrometer.backends.BackendRegistries;
+import io.vertx.micrometer.impl.tags.LabelMatchers;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LabelMatchersTest {
+
+  private static final String[] NAMES = {"vertx.http.server.requests", "vertx.eventbus.handlers", "other.counter"};
+  private static final String[] LABELS = {"a", "b"};
+  private static final String[] VALUES = {"x", "y", "z", "xy"};
+  private static final String[] REGEXES = {"x.*", "y|z", "[xy]+", "(x)\\1?", "z"};
+  private static final String[] GLOBS = {"x*", "?", "*y", "x?", "*"};
+
+  @Test
+  public void shouldAliasThroughSuccessiveRules() {
+    List<Match> matches = List.of(
+      new Match().setLabel("a").setType(MatchType.EQUALS).setValue("x").setAlias("y"),
+      new Match().setLabel("a").setType(MatchType.EQUALS).setValue("y").setAlias("z"),
+      new Match().setLabel("a").setType(MatchType.REGEX).setValue("z").setAlias("w"));
+    LabelMatchers matchers = new LabelMatchers(matches);
+
+    Meter.Id id = matchers.map(id("other.counter", Tags.of("a", "x", "b", "x")));
+
+    assertThat(id.getTag("a")).isEqualTo("w");
+    assertThat(id.getTag("b")).isEqualTo("x");
+  }
+
+  @Test
+  public void shouldAcceptOutsideOfRegexDomain() {
+    List<Match> matches = List.of(
+      new Match().setLabel("a").setDomain(MetricsDomain.EVENT_BUS).setType(MatchType.REGEX).setValue("x"),
+      new Match().setLabel("a").setType(MatchType.EQUALS).setValue("x"));
+    MeterRegistry registry = new SimpleMeterRegistry();
+    registry.config().meterFilter(new LabelMatchers(matches));
+
+    Counter.builder("other.counter").tags("a", "y").register(registry);
+    Counter.builder("vertx.eventbus.handlers").tags("a", "y").register(registry);
+
+    assertThat(registry.find("other.counter").counter()).isNotNull();
+    assertThat(registry.find("vertx.eventbus.handlers").counter()).isNull();
+  }
+
+  @Test
+  public void shouldAcceptAnyOfSuccessivePrefixes() {
+    List<Match> matches = List.of(
+      new Match().setLabel("a").setDomain(MetricsDomain.EVENT_BUS).setType(MatchType.PREFIX).setValue("orders."),
+      new Match().setLabel("a").setDomain(MetricsDomain.EVENT_BUS).setType(MatchType.PREFIX).setValue("payments."),
+      new Match().setLabel("a").setDomain(MetricsDomain.EVENT_BUS).setType(MatchType.PREFIX).setValue("orders.created"));
+    MeterRegistry registry = new SimpleMeterRegistry();
+    registry.config().meterFilter(new LabelMatchers(matches));
+
+    Counter.builder("vertx.eventbus.c1").tags("a", "orders.shipped").register(registry);
+    Counter.builder("vertx.eventbus.c2").tags("a", "payments.refunded").register(registry);
+    Counter.builder("vertx.eventbus.c3").tags("a", "users.created").register(registry);
+    Counter.builder("vertx.eventbus.c4").tags("a", "orders").register(registry);
+    Counter.builder("other.counter").tags("a", "users.created").register(registry);
+
+    assertThat(registry.find("vertx.eventbus.c1").counter()).isNotNull();
+    assertThat(registry.find("vertx.eventbus.c2").counter()).isNotNull();
+    assertThat(registry.find("vertx.eventbus.c3").counter()).isNull();
+    assertThat(registry.find("vertx.eventbus.c4").counter()).isNull();
+    assertThat(registry.find("other.counter").counter()).isNotNull();
+  }
+
+  @Test
+  public void shouldAliasWithPrefixSuffixAndGlob() {
+    List<Match> matches = List.of(
+      new Match().setLabel("a").setType(MatchType.PREFIX).setValue("/api/users/").setAlias("users"),
+      new Match().setLabel("a").setType(MatchType.PREFIX).setValue("/api/").setAlias("api"),
+      new Match().setLabel("b").setType(MatchType.SUFFIX).setValue(".internal").setAlias("internal"),
+      new Match().setLabel("c").setType(MatchType.GLOB).setValue("10.0.*:?0").setAlias("private"));
+    LabelMatchers matchers = new LabelMatchers(matches);
+
+    Meter.Id id = matchers.map(id("other.counter", Tags.of("a", "/api/users/42", "b", "db.internal", "c", "10.0.3.1:80")));
+    assertThat(id.getTag("a")).isEqualTo("users");
+    assertThat(id.getTag("b")).isEqualTo("internal");
+    assertThat(id.getTag("c")).isEqualTo("private");
+
+    id = matchers.map(id("other.counter", Tags.of("a", "/api/orders", "b", "db.internal.net", "c", "10.0.3.1:8080")));
+    assertThat(id.getTag("a")).isEqualTo("api");
+    assertThat(id.getTag("b")).isEqualTo("db.internal.net");
+    assertThat(id.getTag("c")).isEqualTo("10.0.3.1:8080");
+  }
+
+  @Test
+  public void shouldFilterTagsBeforeAliases() {
+    LabelMatchers matchers = new LabelMatchers(List.of(
+      new Match().setLabel("a").setType(MatchType.EQUALS).setValue("x").setAlias("y"),
+      new Match().setLabel("a").setDomain(MetricsDomain.EVENT_BUS).setType(MatchType.EQUALS).setValue("y")));
+
+    Predicate<Iterable<Tag>> filter = matchers.tagsFilter(MetricsDomain.EVENT_BUS.getPrefix());
+
+    assertThat(filter.test(Tags.of("a", "x"))).isTrue();
+    assertThat(filter.test(Tags.of("a", "y"))).isTrue();
+    assertThat(filter.test(Tags.of("a", "z"))).isFalse();
+    assertThat(filter.test(Tags.empty())).isFalse();
+    // Aliases alone never deny meters
+    assertThat(matchers.tagsFilter(MetricsDomain.HTTP_SERVER.getPrefix())).isNull();
+  }
+
+  @Test
+  public void shouldMemoizeRegexResults() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    BackendRegistries.registerMatchers(registry, List.of(
+      new Match().setLabel("a").setDomain(MetricsDomain.EVENT_BUS).setType(MatchType.REGEX).setValue("x.*")));
+
+    Counter.builder("vertx.eventbus.c1").tags("a", "x1").register(registry);
+    Counter.builder("vertx.eventbus.c2").tags("a", "x1").register(registry);
+    Counter.builder("vertx.eventbus.c3").tags("a", "y").register(registry);
+
+    assertThat(registry.find("vertx.eventbus.c2").counter()).isNotNull();
+    assertThat(registry.find("vertx.eventbus.c3").counter()).isNull();
+    assertThat(registry.get("cache.gets").tags("cache", "vertx.label.matches", "result", "hit").functionCounter().count()).isEqualTo(1);
+    assertThat(registry.get("cache.gets").tags("cache", "vertx.label.matches", "result", "miss").functionCounter().count()).isEqualTo(2);
+    assertThat(registry.get("cache.size").tags("cache", "vertx.label.matches").gauge().value()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldEvictMemoizedResults() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    LabelMatchers matchers = new LabelMatchers(List.of(
+      new Match().setLabel("a").setType(MatchType.REGEX).setValue("x.*").setAlias("x")), 1);
+    matchers.bindTo(registry);
+
+    assertThat(matchers.map(id("c", Tags.of("a", "x1"))).getTag("a")).isEqualTo("x");
+    assertThat(matchers.map(id("c", Tags.of("a", "y"))).getTag("a")).isEqualTo("y");
+    assertThat(matchers.map(id("c", Tags.of("a", "x1"))).getTag("a")).isEqualTo("x");
+
+    assertThat(registry.get("cache.evictions").functionCounter().count()).isEqualTo(2);
+    assertThat(registry.get("cache.size").gauge().value()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldKeepFrequentlyMatchedValuesMemoized() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    LabelMatchers matchers = new LabelMatchers(List.of(
+      new Match().setLabel("a").setType(MatchType.REGEX).setValue("x.*").setAlias("x")), 2);
+    matchers.bindTo(registry);
+
+    matchers.map(id("c", Tags.of("a", "x1")));
+    for (int i = 0; i < 10; i++) {
+      matchers.map(id("c", Tags.of("a", "y" + i)));
+      matchers.map(id("c", Tags.of("a", "x1")));
+    }
+
+    assertThat(registry.get("cache.gets").tags("result", "hit").functionCounter().count()).isEqualTo(10);
+    assertThat(registry.get("cache.evictions").functionCounter().count()).isEqualTo(9);
+    assertThat(registry.get("cache.size").gauge().value()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldBehaveLikeOneFilterPerRule() {
+    Random random = new Random(42);
+    for (int i = 0; i < 500; i++) {
+      List<Match> matches = randomMatches(random);
+      MeterRegistry expected = new SimpleMeterRegistry();
+      matches.forEach(match -> registerFilter(expected, match));
+      MeterRegistry actual = new SimpleMeterRegistry();
+      actual.config().meterFilter(new LabelMatchers(matches));
+      for (String name : NAMES) {
+        for (String a : VALUES) {
+          for (String b : VALUES) {
+            Tags tags = Tags.of("a", a, "b", b);
+            Counter.builder(name).tags(tags).register(expected);
+            Counter.builder(name).tags(tags).register(actual);
+          }
+        }
+      }
+      assertThat(ids(actual)).as("Rules %s", matches).isEqualTo(ids(expected));
+    }
+  }
+
+  private static List<Match> randomMatches(Random random) {
+    List<Match> matches = new ArrayList<>();
+    int count = 1 + random.nextInt(5);
+    for (int i = 0; i < count; i++) {
+      Match match = new Match().setLabel(LABELS[random.nextInt(LABELS.length)]);
+      switch (random.nextInt(5)) {
+        case 0:
+          match.setType(MatchType.EQUALS).setValue(VALUES[random.nextInt(VALUES.length)]);
+          break;
+        case 1:
+          match.setType(MatchType.REGEX).setValue(REGEXES[random.nextInt(REGEXES.length)]);
+          break;
+        case 2:
+          match.setType(MatchType.PREFIX).setValue(VALUES[random.nextInt(VALUES.length)].substring(0, 1));
+          break;
+        case 3:
+          match.setType(MatchType.SUFFIX).setValue(VALUES[random.nextInt(VALUES.length)]);
+          break;
+        default:
+          match.setType(MatchType.GLOB).setValue(GLOBS[random.nextInt(GLOBS.length)]);
+          break;
+      }
+      switch (random.nextInt(3)) {
+        case 0:
+          match.setDomain(MetricsDomain.HTTP_SERVER);
+          break;
+        case 1:
+          match.setDomain(MetricsDomain.EVENT_BUS);
+          break;
+      }
+      // Successive prefix rules without alias act as a single rule, which one filter per rule does not reproduce
+      if (random.nextInt(3) > 0 || match.getType() == MatchType.PREFIX) {
+        match.setAlias(VALUES[random.nextInt(VALUES.length)]);
+      }
+      matches.add(match);
+    }
+    return matches;
+  }
+
+  // One filter per rule, as registered before rules were compiled
+  private static void registerFilter(MeterRegistry registry, Match m) {
+    Predicate<String> matcher = matcher(m);
+    if (m.getAlias() == null) {
+      if (m.getType() == MatchType.EQUALS) {
+        registry.config().meterFilter(MeterFilter.deny(id -> {
+          if (m.getDomain() != null && !id.getName().startsWith(m.getDomain().getPrefix())) {
+            return false;
+          }
+          return !m.getValue().equals(id.getTag(m.getLabel()));
+        }));
+      } else {
+        registry.config().meterFilter(MeterFilter.accept(id -> {
+          if (m.getDomain() != null && !id.getName().startsWith(m.getDomain().getPrefix())) {
+            return true;
+          }
+          String tagValue = id.getTag(m.getLabel());
+          return tagValue != null && matcher.test(tagValue);
+        }));
+      }
+    } else {
+      MeterFilter replace = MeterFilter.replaceTagValues(m.getLabel(), val -> matcher.test(val) ? m.getAlias() : val);
+      registry.config().meterFilter(new MeterFilter() {
+        @Override
+        public Meter.Id map(Meter.Id id) {
+          if (m.getDomain() != null && !id.getName().startsWith(m.getDomain().getPrefix())) {
+            return id;
+          }
+          return replace.map(id);
+        }
+      });
+    }
+  }
+
+  private static Predicate<String> matcher(Match m) {
+    switch (m.getType()) {
+      case REGEX:
+        return Pattern.compile(m.getValue()).asMatchPredicate();
+      case PREFIX:
+        return val -> val.startsWith(m.getValue());
+      case SUFFIX:
+        return val -> val.endsWith(m.getValue());
+      case GLOB:
+        return Pattern.compile(m.getValue().replace("?", ".").replace("*", ".*")).asMatchPredicate();
+      default:
+        return m.getValue()::equals;
+    }
+  }
+
+  private static Meter.Id id(String name, Tags tags) {
+    return new Meter.Id(name, tags, null, null, Meter.Type.COUNTER);
+  }
+
+  private static Set<String> ids(MeterRegistry registry) {
+    Set<String> ids = new TreeSet<>();
+    registry.forEachMeter(meter -> ids.add(meter.getId().getName() + meter.getId().getTags()));
+    return ids;
+  }
+}
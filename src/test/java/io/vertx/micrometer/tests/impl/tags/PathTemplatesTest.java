@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.micrometer.tests.impl.tags;
+
+import io.vertx.micrometer.impl.tags.PathTemplates;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathTemplatesTest {
+
+  @Test
+  public void shouldReplaceBuiltinSegments() {
+    PathTemplates templates = new PathTemplates(Collections.emptyMap());
+
+    assertThat(templates.apply("/users/123/orders")).isEqualTo("/users/{id}/orders");
+    assertThat(templates.apply("/users/123/orders/456")).isEqualTo("/users/{id}/orders/{id}");
+    assertThat(templates.apply("/items/0f8fad5b-d9cb-469f-a165-70867728950e")).isEqualTo("/items/{uuid}");
+    assertThat(templates.apply("/blobs/9f1c2a7e4b3d5f60/content/")).isEqualTo("/blobs/{hash}/content/");
+    assertThat(templates.apply("/42")).isEqualTo("/{id}");
+  }
+
+  @Test
+  public void shouldKeepOtherSegments() {
+    PathTemplates templates = new PathTemplates(Collections.emptyMap());
+
+    String path = "/api/v2/deadbeefcafebabe/users";
+    assertThat(templates.apply(path)).isSameAs(path);
+    assertThat(templates.apply("/")).isEqualTo("/");
+    assertThat(templates.apply("")).isEqualTo("");
+    assertThat(templates.apply("/a//b")).isEqualTo("/a//b");
+  }
+
+  @Test
+  public void shouldReplaceUserSegments() {
+    PathTemplates templates = new PathTemplates(Map.of("[a-z]+@[a-z]+\\.com", "{email}"));
+
+    assertThat(templates.apply("/users/john@example.com/orders/7")).isEqualTo("/users/{email}/orders/{id}");
+    assertThat(templates.apply("/users/john@example.org")).isEqualTo("/users/john@example.org");
+  }
+}